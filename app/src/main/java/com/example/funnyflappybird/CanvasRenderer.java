@@ -0,0 +1,268 @@
+package com.example.funnyflappybird;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.ColorMatrixColorFilter;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+
+import com.example.funnyflappybird.core.Colors;
+import com.example.funnyflappybird.core.Renderer;
+import com.example.funnyflappybird.core.Sprites;
+
+import java.util.ArrayList;
+
+// Renderer backed by a Canvas. It owns its paint and sets every property a
+// command depends on before drawing, so no state carries between commands
+// or leaks into the screen code that shares the canvas. Text goes through
+// the glyph cache, one bold font per size.
+//
+// Circle batches become triangle fans in a single drawVertices call with a
+// color per vertex; drawPoints would need a call per color. Each circle
+// gets a polygon from a size bucket, with enough sides that the edge stays
+// within about a third of a pixel of round at the sizes the game draws.
+// drawVertices never antialiases, so each fan is ringed by a pixel-wide
+// strip fading from the circle's color to clear, which softens the edge
+// the way an antialiased paint would.
+//
+// Sprites blit from the atlas once it is baked, with a hue-rotating color
+// filter per whole degree of hue, made on first use; before that they are
+// drawn from their shapes.
+class CanvasRenderer implements Renderer {
+    private static final float[] BUCKET_RADIUS = {4, 10, 24, 60, Float.MAX_VALUE};
+    private static final int[] BUCKET_SIDES = {8, 12, 20, 32, 48};
+    private static final float[][] BUCKET_UNIT = new float[BUCKET_SIDES.length][];
+    private static final int MAX_VERTICES = 4096; // per drawVertices call
+    private static final float FEATHER = 1f;       // width of the faded edge
+
+    static {
+        // Unit polygon for each bucket as x, y pairs
+        for (int b = 0; b < BUCKET_SIDES.length; b++) {
+            int sides = BUCKET_SIDES[b];
+            float[] unit = new float[sides * 2];
+            for (int i = 0; i < sides; i++) {
+                double angle = 2 * Math.PI * i / sides;
+                unit[i * 2] = (float) Math.cos(angle);
+                unit[i * 2 + 1] = (float) Math.sin(angle);
+            }
+            BUCKET_UNIT[b] = unit;
+        }
+    }
+
+    private final Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint imagePaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+    private final GlyphCache glyphs;
+    private final ArrayList<GlyphCache.Font> fonts = new ArrayList<>();
+    private final ArrayList<Bitmap> images = new ArrayList<>();
+    private final SpriteAtlas sprites;
+    private final Paint spritePaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+    private final ColorFilter[] hueFilters = new ColorFilter[360];
+    private Canvas canvas;
+
+    // One flush worth of triangle fans. Canvas.drawVertices range-checks
+    // the color array against the float count, so it is as long as verts.
+    private final float[] verts = new float[MAX_VERTICES * 2];
+    private final int[] vertColors = new int[MAX_VERTICES * 2];
+    private final short[] indices = new short[MAX_VERTICES * 5];
+    private final Paint vertexPaint = new Paint();
+    private int vertexCount, indexCount;
+
+    CanvasRenderer(GlyphCache glyphs, SpriteAtlas sprites) {
+        this.glyphs = glyphs;
+        this.sprites = sprites;
+    }
+
+    // Draw into this canvas until the next call
+    void begin(Canvas canvas) {
+        this.canvas = canvas;
+    }
+
+    // The id to pass to image()
+    int addImage(Bitmap bitmap) {
+        images.add(bitmap);
+        return images.size() - 1;
+    }
+
+    @Override
+    public void save() {
+        canvas.save();
+    }
+
+    @Override
+    public void restore() {
+        canvas.restore();
+    }
+
+    @Override
+    public void translate(float dx, float dy) {
+        canvas.translate(dx, dy);
+    }
+
+    @Override
+    public void rotate(float degrees, float px, float py) {
+        canvas.rotate(degrees, px, py);
+    }
+
+    @Override
+    public void scale(float sx, float sy, float px, float py) {
+        canvas.scale(sx, sy, px, py);
+    }
+
+    @Override
+    public void rect(float left, float top, float right, float bottom, int color) {
+        canvas.drawRect(left, top, right, bottom, fill(color));
+    }
+
+    @Override
+    public void circle(float cx, float cy, float radius, int color) {
+        canvas.drawCircle(cx, cy, radius, fill(color));
+    }
+
+    @Override
+    public void circles(float[] xyr, int xyrOffset, int[] colors, int colorOffset, int count) {
+        for (int c = 0; c < count; c++) {
+            float cx = xyr[xyrOffset + c * 3];
+            float cy = xyr[xyrOffset + c * 3 + 1];
+            float radius = xyr[xyrOffset + c * 3 + 2];
+            int color = colors[colorOffset + c];
+
+            int bucket = 0;
+            while (radius > BUCKET_RADIUS[bucket]) {
+                bucket++;
+            }
+            int sides = BUCKET_SIDES[bucket];
+            float[] unit = BUCKET_UNIT[bucket];
+            if (vertexCount + sides * 2 + 1 > MAX_VERTICES) {
+                flushVertices();
+            }
+
+            // Center, then per side a solid vertex half the feather inside
+            // the edge and a clear one half outside it
+            int center = vertexCount;
+            int clear = color & 0x00FFFFFF;
+            float inner = Math.max(radius - FEATHER / 2, 0), outer = radius + FEATHER / 2;
+            addVertex(cx, cy, color);
+            for (int i = 0; i < sides; i++) {
+                addVertex(cx + unit[i * 2] * inner, cy + unit[i * 2 + 1] * inner, color);
+                addVertex(cx + unit[i * 2] * outer, cy + unit[i * 2 + 1] * outer, clear);
+            }
+            // One solid triangle per side, and two for its feather
+            for (int i = 0; i < sides; i++) {
+                int in = center + 1 + i * 2, nextIn = center + 1 + (i + 1) % sides * 2;
+                addTriangle(center, in, nextIn);
+                addTriangle(in, in + 1, nextIn + 1);
+                addTriangle(in, nextIn + 1, nextIn);
+            }
+        }
+        flushVertices();
+    }
+
+    @Override
+    public void oval(float left, float top, float right, float bottom, int color) {
+        canvas.drawOval(left, top, right, bottom, fill(color));
+    }
+
+    @Override
+    public void roundRect(float left, float top, float right, float bottom, float radius, int color) {
+        canvas.drawRoundRect(left, top, right, bottom, radius, radius, fill(color));
+    }
+
+    @Override
+    public void strokeRoundRect(float left, float top, float right, float bottom, float radius, float strokeWidth, int color) {
+        paint.setColor(color);
+        paint.setStyle(Paint.Style.STROKE);
+        paint.setStrokeWidth(strokeWidth);
+        canvas.drawRoundRect(left, top, right, bottom, radius, radius, paint);
+    }
+
+    @Override
+    public void text(String text, float x, float y, float size, int color) {
+        glyphs.drawCentered(canvas, font(size), text, x, y, color, 255);
+    }
+
+    @Override
+    public void image(int image, float x, float y, int alpha) {
+        imagePaint.setAlpha(alpha);
+        canvas.drawBitmap(images.get(image), x, y, imagePaint);
+    }
+
+    @Override
+    public void sprite(int sprite, float x, float y, float degrees, float scale, float hue) {
+        canvas.save();
+        canvas.translate(x, y);
+        if (degrees != 0) {
+            canvas.rotate(degrees);
+        }
+        if (scale != 1) {
+            canvas.scale(scale, scale);
+        }
+        Bitmap atlas = sprites != null ? sprites.bitmap() : null;
+        if (atlas != null) {
+            sprites.counters.hits++;
+            spritePaint.setColorFilter(hueFilter(hue));
+            canvas.drawBitmap(atlas, sprites.cells[sprite], sprites.bounds[sprite], spritePaint);
+        } else {
+            if (sprites != null) {
+                sprites.counters.misses++;
+            }
+            Sprites.draw(this, sprite, hue);
+        }
+        canvas.restore();
+    }
+
+    // null for no shift
+    private ColorFilter hueFilter(float hue) {
+        int degrees = Math.round(hue) % 360;
+        if (degrees < 0) {
+            degrees += 360;
+        }
+        if (degrees == 0) {
+            return null;
+        }
+        if (hueFilters[degrees] == null) {
+            hueFilters[degrees] = new ColorMatrixColorFilter(Colors.hueRotation(degrees));
+        }
+        return hueFilters[degrees];
+    }
+
+    private void addVertex(float x, float y, int color) {
+        verts[vertexCount * 2] = x;
+        verts[vertexCount * 2 + 1] = y;
+        vertColors[vertexCount] = color;
+        vertexCount++;
+    }
+
+    private void addTriangle(int a, int b, int c) {
+        indices[indexCount++] = (short) a;
+        indices[indexCount++] = (short) b;
+        indices[indexCount++] = (short) c;
+    }
+
+    private void flushVertices() {
+        if (indexCount > 0) {
+            canvas.drawVertices(Canvas.VertexMode.TRIANGLES, vertexCount * 2, verts, 0, null, 0,
+                    vertColors, 0, indices, 0, indexCount, vertexPaint);
+        }
+        vertexCount = 0;
+        indexCount = 0;
+    }
+
+    private Paint fill(int color) {
+        paint.setColor(color);
+        paint.setStyle(Paint.Style.FILL);
+        return paint;
+    }
+
+    private GlyphCache.Font font(float size) {
+        for (int i = 0; i < fonts.size(); i++) {
+            GlyphCache.Font font = fonts.get(i);
+            if (font.size == size) {
+                return font;
+            }
+        }
+        GlyphCache.Font font = glyphs.font(size, Typeface.DEFAULT_BOLD);
+        fonts.add(font);
+        return font;
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.funnyflappybird;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+
+import com.example.funnyflappybird.core.CacheManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+// Pre-rendered text. Each string is shaped and rasterized once per font
+// and then drawn as bitmaps, so emoji-heavy labels cost a blit instead of
+// a text layout every frame.
+//
+// A string is baked into two layers: an ALPHA_8 coverage mask for the
+// ordinary glyphs, which draws in whatever color the paint has, and an
+// ARGB layer for color emoji, which ignore the paint color just like
+// drawText does. The layers are told apart by rendering the string once
+// in white and once in black: pixels that differ belong to tintable text.
+// One bake therefore serves every color and alpha.
+//
+// The strings in play are a small fixed set plus a few dynamic ones, so
+// glyphs are evicted least-recently-used only when the byte budget runs out.
+// The budget is set by the cache manager and shrinks under memory pressure.
+class GlyphCache implements CacheManager.Cache {
+    private static final int PAD = 4; // room for glyphs that overhang their advance
+
+    static class Font {
+        final float size;
+        final Typeface typeface;
+        final HashMap<String, Glyph> glyphs = new HashMap<>();
+
+        Font(float size, Typeface typeface) {
+            this.size = size;
+            this.typeface = typeface;
+        }
+    }
+
+    private static class Glyph {
+        Bitmap mask;  // ALPHA_8, null if the string is all emoji
+        Bitmap color; // ARGB_8888, null if there are no emoji
+        float width;  // advance width of the string
+        float top;    // from the baseline to the top of the bitmaps
+        int bytes;
+        long lastUsed;
+    }
+
+    private final ArrayList<Font> fonts = new ArrayList<>();
+    private final Paint paint = new Paint(Paint.FILTER_BITMAP_FLAG);
+    private final Paint bakePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private long maxBytes;
+    private int bytes;
+    private long uses;
+    CacheManager.Counters counters = new CacheManager.Counters();
+
+    GlyphCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    Font font(float size, Typeface typeface) {
+        Font font = new Font(size, typeface);
+        fonts.add(font);
+        return font;
+    }
+
+    // Like drawText with Paint.Align.CENTER; alpha scales the color's own alpha
+    void drawCentered(Canvas canvas, Font font, String text, float x, float y, int color, int alpha) {
+        Glyph glyph = font.glyphs.get(text);
+        if (glyph == null) {
+            counters.misses++;
+            glyph = bake(font, text);
+        } else {
+            counters.hits++;
+        }
+        glyph.lastUsed = ++uses;
+
+        float left = x - glyph.width / 2f - PAD;
+        float top = y - glyph.top;
+        if (glyph.mask != null) {
+            paint.setColor(color);
+            paint.setAlpha(Color.alpha(color) * alpha / 255);
+            canvas.drawBitmap(glyph.mask, left, top, paint);
+        }
+        if (glyph.color != null) {
+            paint.setColor(Color.BLACK);
+            paint.setAlpha(alpha);
+            canvas.drawBitmap(glyph.color, left, top, paint);
+        }
+    }
+
+    void clear() {
+        for (Font font : fonts) {
+            for (Glyph glyph : font.glyphs.values()) {
+                recycle(glyph);
+            }
+            font.glyphs.clear();
+        }
+        bytes = 0;
+    }
+
+    @Override
+    public long byteCount() {
+        return bytes;
+    }
+
+    @Override
+    public void setBudget(long bytes) {
+        maxBytes = bytes;
+        trimTo(bytes);
+    }
+
+    private Glyph bake(Font font, String text) {
+        bakePaint.setTextSize(font.size);
+        bakePaint.setTypeface(font.typeface);
+        bakePaint.setTextAlign(Paint.Align.LEFT);
+        float ascent = bakePaint.ascent();
+        float advance = bakePaint.measureText(text);
+        int width = (int) Math.ceil(advance) + 2 * PAD;
+        int height = (int) Math.ceil(bakePaint.descent() - ascent) + 2 * PAD;
+
+        Bitmap layer = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        Canvas bake = new Canvas(layer);
+        int[] light = new int[width * height];
+        int[] dark = new int[width * height];
+        bakePaint.setColor(Color.WHITE);
+        bake.drawText(text, PAD, PAD - ascent, bakePaint);
+        layer.getPixels(light, 0, width, 0, 0, width, height);
+        layer.eraseColor(Color.TRANSPARENT);
+        bakePaint.setColor(Color.BLACK);
+        bake.drawText(text, PAD, PAD - ascent, bakePaint);
+        layer.getPixels(dark, 0, width, 0, 0, width, height);
+
+        // Reuse the light pixels for the emoji layer and the dark ones for the mask
+        boolean hasText = false, hasEmoji = false;
+        for (int i = 0; i < light.length; i++) {
+            if (light[i] == dark[i]) {
+                hasEmoji |= light[i] != 0;
+                dark[i] = 0;
+            } else {
+                hasText = true;
+                light[i] = 0;
+            }
+        }
+
+        Glyph glyph = new Glyph();
+        glyph.width = advance;
+        glyph.top = PAD - ascent;
+        if (hasText) {
+            glyph.mask = Bitmap.createBitmap(width, height, Bitmap.Config.ALPHA_8);
+            glyph.mask.setPixels(dark, 0, width, 0, 0, width, height);
+            glyph.bytes += glyph.mask.getAllocationByteCount();
+        }
+        if (hasEmoji) {
+            layer.setPixels(light, 0, width, 0, 0, width, height);
+            glyph.color = layer;
+            glyph.bytes += layer.getAllocationByteCount();
+        } else {
+            layer.recycle();
+        }
+
+        // Make room first so the new glyph itself is never the one evicted
+        trimTo(maxBytes - glyph.bytes);
+        bytes += glyph.bytes;
+        font.glyphs.put(text, glyph);
+        return glyph;
+    }
+
+    private void trimTo(long budget) {
+        while (bytes > budget) {
+            Font oldestFont = null;
+            String oldestText = null;
+            long oldestUse = Long.MAX_VALUE;
+            for (Font font : fonts) {
+                for (Map.Entry<String, Glyph> entry : font.glyphs.entrySet()) {
+                    if (entry.getValue().lastUsed < oldestUse) {
+                        oldestUse = entry.getValue().lastUsed;
+                        oldestFont = font;
+                        oldestText = entry.getKey();
+                    }
+                }
+            }
+            if (oldestFont == null) {
+                return;
+            }
+            Glyph evicted = oldestFont.glyphs.remove(oldestText);
+            bytes -= evicted.bytes;
+            recycle(evicted);
+            counters.evictions++;
+        }
+    }
+
+    private static void recycle(Glyph glyph) {
+        if (glyph.mask != null) {
+            glyph.mask.recycle();
+        }
+        if (glyph.color != null) {
+            glyph.color.recycle();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.funnyflappybird;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.LinearGradient;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Shader;
+import android.graphics.Typeface;
+
+import com.example.funnyflappybird.core.Colors;
+import com.example.funnyflappybird.core.FrameSnapshot;
+import com.example.funnyflappybird.core.TextBuffer;
+
+// Score, coins, level and speed in the top-left corner, plus the power-up
+// bar and the level-up banner. The corner text only changes when one of its
+// numbers does, so it is rendered into a layer on change and blitted every
+// other frame. Labels are formatted into reusable char buffers; a steady
+// frame allocates nothing.
+class Hud {
+    private static final int LAYER_HEIGHT = 160;
+
+    // The power-up bar's hue advances 10 degrees per pixel, so one turn of
+    // the color wheel spans 36 px and repeats along the bar
+    private static final float HUE_PERIOD = 36;
+    private static final float BAR_WIDTH = 200;
+    private static final float BAR_HEIGHT = 15;
+    private static final float BAR_Y = 210;
+
+    private int screenX, screenY;
+    private final Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private Bitmap layer;
+    private Canvas layerCanvas;
+    private final GlyphCache glyphs;
+    private final GlyphCache.Font powerUpFont;
+    private final GlyphCache.Font levelUpFont;
+
+    private final TextBuffer scoreText = new TextBuffer(32);
+    private final TextBuffer coinText = new TextBuffer(32);
+    private final TextBuffer levelText = new TextBuffer(48);
+
+    private final LinearGradient barShader;
+    private final Matrix barMatrix = new Matrix();
+
+    // What the layer currently shows; -1 forces the first render
+    private long shownScore = -1, shownCoins = -1, shownLevel = -1, shownSpeed = -1;
+    private int levelUpLevel = -1;
+    private String levelUpText;
+
+    Hud(int screenX, int screenY, GlyphCache glyphs) {
+        this.screenX = screenX;
+        this.screenY = screenY;
+        this.glyphs = glyphs;
+        layer = Bitmap.createBitmap(screenX, LAYER_HEIGHT, Bitmap.Config.ARGB_8888);
+        layerCanvas = new Canvas(layer);
+        powerUpFont = glyphs.font(40, Typeface.DEFAULT_BOLD);
+        levelUpFont = glyphs.font(60, Typeface.DEFAULT_BOLD);
+
+        // Fully saturated hues interpolate linearly in RGB between the
+        // primaries and secondaries, so seven stops reproduce the wheel
+        int[] colors = new int[7];
+        for (int i = 0; i < colors.length; i++) {
+            colors[i] = Colors.hsv(i * 60, 1.0f, 1.0f);
+        }
+        barShader = new LinearGradient(0, 0, HUE_PERIOD, 0, colors, null, Shader.TileMode.REPEAT);
+    }
+
+    // The layer spans the screen's width, so it is reallocated if that changes
+    void setSize(int screenX, int screenY) {
+        this.screenY = screenY;
+        if (screenX != this.screenX) {
+            this.screenX = screenX;
+            layer.recycle();
+            layer = Bitmap.createBitmap(screenX, LAYER_HEIGHT, Bitmap.Config.ARGB_8888);
+            layerCanvas = new Canvas(layer);
+            shownScore = -1;
+        }
+    }
+
+    void draw(Canvas canvas, FrameSnapshot frame) {
+        // Speed is shown to one decimal, so only a change in tenths is visible
+        long speed = Math.round(frame.currentSpeed * 10.0);
+        if (frame.score != shownScore || frame.coins != shownCoins
+                || frame.level != shownLevel || speed != shownSpeed) {
+            shownScore = frame.score;
+            shownCoins = frame.coins;
+            shownLevel = frame.level;
+            shownSpeed = speed;
+            renderLayer(frame);
+        }
+        canvas.drawBitmap(layer, 0, 0, null);
+
+        // Power-up indicator
+        if (frame.powerUpTimer > 0) {
+            glyphs.drawCentered(canvas, powerUpFont, "POWER UP! ⚡", screenX / 2f, 200, Color.MAGENTA, 255);
+            drawPowerUpBar(canvas, frame.powerUpTimer / 3000f, frame.frameTime);
+        }
+
+        // Level up notification
+        long sinceLevelUp = frame.frameTime - frame.levelUpTime;
+        if (sinceLevelUp < 3000) {
+            if (frame.level != levelUpLevel) {
+                levelUpLevel = frame.level;
+                levelUpText = "LEVEL " + frame.level + "! 🚀";
+            }
+            float alpha = 1.0f - sinceLevelUp / 3000f;
+            glyphs.drawCentered(canvas, levelUpFont, levelUpText, screenX / 2f, screenY / 2f - 100,
+                    Color.RED, (int) (255 * alpha));
+        }
+    }
+
+    private void renderLayer(FrameSnapshot frame) {
+        layer.eraseColor(Color.TRANSPARENT);
+        paint.setTextAlign(Paint.Align.LEFT);
+
+        // Score with colorful outline
+        scoreText.clear().append("Score: ").append(frame.score);
+        paint.setColor(Color.BLACK);
+        paint.setTextSize(52);
+        layerCanvas.drawText(scoreText.chars(), 0, scoreText.length(), 22, 52, paint);
+        paint.setColor(Color.WHITE);
+        paint.setTextSize(50);
+        layerCanvas.drawText(scoreText.chars(), 0, scoreText.length(), 20, 50, paint);
+
+        // Coins
+        coinText.clear().append("💰 ").append(frame.coins);
+        paint.setColor(Color.YELLOW);
+        paint.setTextSize(40);
+        layerCanvas.drawText(coinText.chars(), 0, coinText.length(), 20, 100, paint);
+
+        // Level and speed
+        levelText.clear().append("Level: ").append(frame.level)
+                .append(" Speed: ").append(frame.currentSpeed, 1);
+        paint.setColor(Color.CYAN);
+        paint.setTextSize(35);
+        layerCanvas.drawText(levelText.chars(), 0, levelText.length(), 20, 140, paint);
+    }
+
+    // Rainbow progress bar: one rect through a repeating hue gradient that
+    // scrolls with time, instead of a rect and a color per slice
+    private void drawPowerUpBar(Canvas canvas, float fraction, long frameTime) {
+        float barX = (screenX - BAR_WIDTH) / 2;
+
+        paint.setColor(Color.GRAY);
+        canvas.drawRect(barX, BAR_Y, barX + BAR_WIDTH, BAR_Y + BAR_HEIGHT, paint);
+
+        // Hue at pixel i is time/100 + 10 i degrees
+        float hueOffset = (frameTime / 100) % 360 / 10f;
+        barMatrix.setTranslate(barX - hueOffset, 0);
+        barShader.setLocalMatrix(barMatrix);
+        paint.setColor(Color.BLACK);
+        paint.setShader(barShader);
+        canvas.drawRect(barX, BAR_Y, barX + BAR_WIDTH * fraction, BAR_Y + BAR_HEIGHT, paint);
+        paint.setShader(null);
+    }
+}
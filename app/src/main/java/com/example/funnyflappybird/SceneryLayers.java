@@ -0,0 +1,353 @@
+package com.example.funnyflappybird;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+
+import com.example.funnyflappybird.core.CacheManager;
+import com.example.funnyflappybird.core.Trig;
+
+import java.util.Random;
+
+// Static scenery (stars, wave dots, clouds, grass) baked into alpha masks
+// once per screen size and blitted every frame with a tint, an alpha and a
+// scroll offset. Layers are baked lazily the first time they are drawn.
+//
+// Each kind of scenery is cached as a group. Groups are evicted
+// least-recently-used when the cache manager's budget runs out, but never
+// one drawn in the current frame: a frame's scenery stays baked even if it
+// alone is over budget, rather than re-baking every frame.
+class SceneryLayers implements CacheManager.Cache {
+    private static final int STAR_COUNT = 50;
+    private static final int STAR_GROUPS = 4;        // stars twinkle in phase groups
+    private static final float STAR_LAYER_SCALE = 0.5f;
+    private static final int CLOUD_COUNT = 4;
+    private static final int WAVE_ROWS = 5;
+    private static final int WAVE_PERIOD = 320;      // multiple of the 20 px dot spacing so the strip wraps seamlessly
+    private static final int GRASS_SPACING = 20;
+    private static final int GRASS_HEIGHT = 25;
+    private static final int GROUND_HEIGHT = 100;
+
+    private static final int STARS = 0, CLOUDS = 1, WAVES = 2, GRASS = 3, GROUP_COUNT = 4;
+
+    private final Paint paint = new Paint(Paint.FILTER_BITMAP_FLAG);
+    private final Paint bakePaint = new Paint();
+
+    private int width, height;
+
+    private final Bitmap[] starLayers = new Bitmap[STAR_GROUPS];
+    private final Bitmap[] cloudSprites = new Bitmap[CLOUD_COUNT];
+    private Bitmap waveLayer;
+    private Bitmap grassLayer;
+    private float waveTop;
+    private float waveBase;   // first row's baseline, in layer coordinates
+
+    private final long[] groupBytes = new long[GROUP_COUNT];
+    private final long[] lastUsed = new long[GROUP_COUNT];
+    private long frame;
+    private long budget = Long.MAX_VALUE;
+    CacheManager.Counters counters = new CacheManager.Counters();
+
+    SceneryLayers(int width, int height) {
+        bakePaint.setAntiAlias(true);
+        bakePaint.setColor(Color.WHITE);
+        setSize(width, height);
+    }
+
+    void setSize(int width, int height) {
+        if (width == this.width && height == this.height) {
+            return;
+        }
+        release();
+        this.width = width;
+        this.height = height;
+    }
+
+    void release() {
+        for (int group = 0; group < GROUP_COUNT; group++) {
+            drop(group);
+        }
+    }
+
+    // Call before drawing each frame's scenery
+    void beginFrame() {
+        frame++;
+    }
+
+    @Override
+    public long byteCount() {
+        long bytes = 0;
+        for (int group = 0; group < GROUP_COUNT; group++) {
+            bytes += groupBytes[group];
+        }
+        return bytes;
+    }
+
+    @Override
+    public void setBudget(long bytes) {
+        budget = bytes;
+        trimTo(bytes, false);
+    }
+
+    // density is the share of the star groups to draw, 0 to 1
+    void drawStars(Canvas canvas, long now, float density) {
+        int groups = Math.round(density * STAR_GROUPS);
+        if (groups == 0) {
+            return;
+        }
+        use(STARS);
+        paint.setColor(Color.WHITE);
+        canvas.save();
+        canvas.scale(1 / STAR_LAYER_SCALE, 1 / STAR_LAYER_SCALE);
+        for (int g = 0; g < groups; g++) {
+            float twinkle = Trig.sin(now * 0.01 + groupPhase(g)) * 0.5f + 0.5f;
+            paint.setAlpha((int) (255 * twinkle));
+            canvas.drawBitmap(starLayers[g], 0, 0, paint);
+        }
+        canvas.restore();
+        paint.setAlpha(255);
+    }
+
+    // density is the share of the wave rows to draw, top rows first; the
+    // rest of the baked layer is clipped away
+    void drawWaves(Canvas canvas, long now, float density) {
+        int rows = Math.round(density * WAVE_ROWS);
+        if (rows == 0) {
+            return;
+        }
+        use(WAVES);
+        long time = now / 100;
+        float shift = (time * 2) % WAVE_PERIOD;
+        paint.setColor(Color.WHITE);
+        paint.setAlpha(80);
+        if (rows < WAVE_ROWS) {
+            // Lowest point of the last row drawn, dot radius included
+            int last = rows - 1;
+            float bottom = waveTop + waveBase + last * 30 + waveAmplitude(last) + 4;
+            canvas.save();
+            canvas.clipRect(0, waveTop, width, bottom);
+            canvas.drawBitmap(waveLayer, -shift, waveTop, paint);
+            canvas.restore();
+        } else {
+            canvas.drawBitmap(waveLayer, -shift, waveTop, paint);
+        }
+        paint.setAlpha(255);
+    }
+
+    void drawClouds(Canvas canvas, long now) {
+        use(CLOUDS);
+        paint.setColor(Color.WHITE);
+        paint.setAlpha(150);
+
+        // Each cloud drifts at its own speed for a parallax feel
+        long time = now / 50;
+        for (int i = 0; i < CLOUD_COUNT; i++) {
+            float x = (time * (0.5f + i * 0.1f) + i * 150) % (width + 100) - 50;
+            float y = 50 + i * 60 + 20 * Trig.sin(time * 0.01 + i);
+            Bitmap sprite = cloudSprites[i];
+            canvas.drawBitmap(sprite, x - sprite.getWidth() / 2f, y - cloudTop(i), paint);
+        }
+        paint.setAlpha(255);
+    }
+
+    // Grass scrolls with the world; scroll is the distance travelled in pixels
+    void drawGrass(Canvas canvas, int color, double scroll) {
+        use(GRASS);
+        int tileWidth = grassLayer.getWidth();
+        float x = -(float) (scroll % tileWidth);
+        float y = height - GROUND_HEIGHT - 15;
+        paint.setColor(color);
+        canvas.drawBitmap(grassLayer, x, y, paint);
+        if (x + tileWidth < width) {
+            canvas.drawBitmap(grassLayer, x + tileWidth, y, paint);
+        }
+    }
+
+    // Marks a group as drawn this frame, baking it if it isn't cached
+    private void use(int group) {
+        lastUsed[group] = frame;
+        if (baked(group)) {
+            counters.hits++;
+            return;
+        }
+        counters.misses++;
+        switch (group) {
+            case STARS:
+                bakeStars();
+                groupBytes[group] = bytes(starLayers);
+                break;
+            case CLOUDS:
+                bakeClouds();
+                groupBytes[group] = bytes(cloudSprites);
+                break;
+            case WAVES:
+                bakeWaves();
+                groupBytes[group] = waveLayer.getAllocationByteCount();
+                break;
+            case GRASS:
+                bakeGrass();
+                groupBytes[group] = grassLayer.getAllocationByteCount();
+                break;
+        }
+        trimTo(budget, true);
+    }
+
+    private boolean baked(int group) {
+        switch (group) {
+            case STARS: return starLayers[0] != null;
+            case CLOUDS: return cloudSprites[0] != null;
+            case WAVES: return waveLayer != null;
+            default: return grassLayer != null;
+        }
+    }
+
+    // Evicts least-recently-used groups until within bytes, sparing the
+    // ones drawn this frame if asked
+    private void trimTo(long bytes, boolean spareFrame) {
+        while (byteCount() > bytes) {
+            int oldest = -1;
+            for (int group = 0; group < GROUP_COUNT; group++) {
+                if (!(spareFrame && lastUsed[group] == frame) && baked(group)
+                        && (oldest < 0 || lastUsed[group] < lastUsed[oldest])) {
+                    oldest = group;
+                }
+            }
+            if (oldest < 0) {
+                return;
+            }
+            drop(oldest);
+            counters.evictions++;
+        }
+    }
+
+    private void drop(int group) {
+        switch (group) {
+            case STARS:
+                for (int i = 0; i < STAR_GROUPS; i++) {
+                    starLayers[i] = recycle(starLayers[i]);
+                }
+                break;
+            case CLOUDS:
+                for (int i = 0; i < CLOUD_COUNT; i++) {
+                    cloudSprites[i] = recycle(cloudSprites[i]);
+                }
+                break;
+            case WAVES:
+                waveLayer = recycle(waveLayer);
+                break;
+            case GRASS:
+                grassLayer = recycle(grassLayer);
+                break;
+        }
+        groupBytes[group] = 0;
+    }
+
+    private static long bytes(Bitmap[] bitmaps) {
+        long bytes = 0;
+        for (Bitmap bitmap : bitmaps) {
+            bytes += bitmap.getAllocationByteCount();
+        }
+        return bytes;
+    }
+
+    private int grassTileWidth() {
+        return Math.max(GRASS_SPACING, (width + GRASS_SPACING - 1) / GRASS_SPACING * GRASS_SPACING);
+    }
+
+    // Distance from the top of a cloud sprite to the cloud's center
+    private static float cloudTop(int cloud) {
+        return cloudSize(cloud) * 0.7f + 1;
+    }
+
+    private static float cloudSize(int cloud) {
+        return 50 + cloud * 8;
+    }
+
+    private static float groupPhase(int group) {
+        return (group + 0.5f) * (float) (2 * Math.PI / STAR_GROUPS);
+    }
+
+    private void bakeStars() {
+        int w = Math.max(1, (int) (width * STAR_LAYER_SCALE));
+        int h = Math.max(1, (int) (height * 0.6f * STAR_LAYER_SCALE) + 4);
+        Canvas[] canvases = new Canvas[STAR_GROUPS];
+        for (int g = 0; g < STAR_GROUPS; g++) {
+            starLayers[g] = Bitmap.createBitmap(w, h, Bitmap.Config.ALPHA_8);
+            canvases[g] = new Canvas(starLayers[g]);
+        }
+
+        // Same seed as ever, so the night sky keeps its constellations
+        Random starRandom = new Random(12345);
+        double groupWidth = 2 * Math.PI / STAR_GROUPS;
+        for (int i = 0; i < STAR_COUNT; i++) {
+            float x = starRandom.nextFloat() * width;
+            float y = starRandom.nextFloat() * (height * 0.6f);
+            int group = (int) ((i % (2 * Math.PI)) / groupWidth) % STAR_GROUPS;
+            canvases[group].drawCircle(x * STAR_LAYER_SCALE, y * STAR_LAYER_SCALE, 3 * STAR_LAYER_SCALE, bakePaint);
+        }
+    }
+
+    private void bakeWaves() {
+        float baseY = height * 0.7f;
+        float maxAmplitude = waveAmplitude(WAVE_ROWS - 1);
+        waveTop = baseY - maxAmplitude - 4;
+        waveBase = baseY - waveTop;
+        int h = (int) (2 * maxAmplitude + (WAVE_ROWS - 1) * 30 + 8);
+        int w = width + WAVE_PERIOD;
+
+        waveLayer = Bitmap.createBitmap(w, h, Bitmap.Config.ALPHA_8);
+        Canvas bake = new Canvas(waveLayer);
+        double frequency = 2 * Math.PI / WAVE_PERIOD;
+        for (int i = 0; i < WAVE_ROWS; i++) {
+            float waveY = waveBase + i * 30;
+            float amplitude = waveAmplitude(i);
+            for (int x = 0; x < w; x += 20) {
+                float y = waveY + (float) Math.sin(x * frequency) * amplitude;
+                bake.drawCircle(x, y, 3, bakePaint);
+            }
+        }
+    }
+
+    private static float waveAmplitude(int row) {
+        return 10 + row * 5;
+    }
+
+    private void bakeClouds() {
+        for (int i = 0; i < CLOUD_COUNT; i++) {
+            float size = cloudSize(i);
+            int w = (int) Math.ceil(size * 1.8f) + 2;
+            int h = (int) Math.ceil(size * 1.3f) + 2;
+            cloudSprites[i] = Bitmap.createBitmap(w, h, Bitmap.Config.ALPHA_8);
+            Canvas bake = new Canvas(cloudSprites[i]);
+            float x = w / 2f;
+            float y = cloudTop(i);
+            bake.drawCircle(x, y, size * 0.6f, bakePaint);
+            bake.drawCircle(x - size * 0.4f, y, size * 0.5f, bakePaint);
+            bake.drawCircle(x + size * 0.4f, y, size * 0.5f, bakePaint);
+            bake.drawCircle(x - size * 0.2f, y - size * 0.3f, size * 0.4f, bakePaint);
+            bake.drawCircle(x + size * 0.2f, y - size * 0.3f, size * 0.4f, bakePaint);
+        }
+    }
+
+    private void bakeGrass() {
+        int tileWidth = grassTileWidth();
+        grassLayer = Bitmap.createBitmap(tileWidth, GRASS_HEIGHT, Bitmap.Config.ALPHA_8);
+        Canvas bake = new Canvas(grassLayer);
+        Random grassRandom = new Random(54321);
+        for (int x = 0; x < tileWidth; x += GRASS_SPACING) {
+            for (int i = 0; i < 5; i++) {
+                float grassX = x + grassRandom.nextInt(15);
+                float grassY = 15 + grassRandom.nextInt(10);
+                bake.drawLine(grassX, grassY, grassX, grassY - 15, bakePaint);
+            }
+        }
+    }
+
+    private static Bitmap recycle(Bitmap bitmap) {
+        if (bitmap != null) {
+            bitmap.recycle();
+        }
+        return null;
+    }
+}
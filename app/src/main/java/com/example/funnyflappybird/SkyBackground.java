@@ -0,0 +1,135 @@
+package com.example.funnyflappybird;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.LinearGradient;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Shader;
+
+import com.example.funnyflappybird.core.Colors;
+
+// Sky gradient for every theme, drawn as a single shaded rect.
+// Theme gradients are built once per screen size; disco and rainbow mode
+// scroll a repeating hue strip through the shader matrix instead of
+// repainting the sky row by row.
+class SkyBackground {
+    static final int THEME_COUNT = 6;
+    static final int THEME_RAINBOW = 5;
+
+    private static final int[][] THEME_COLORS = {
+            { // DAYLIGHT
+                    Color.rgb(135, 206, 250), // Light sky blue
+                    Color.rgb(173, 216, 230), // Light blue
+                    Color.rgb(255, 218, 185)  // Peach
+            },
+            { // SUNSET
+                    Color.rgb(255, 94, 77),   // Coral
+                    Color.rgb(255, 154, 0),   // Orange
+                    Color.rgb(255, 206, 84)   // Yellow
+            },
+            { // NIGHT
+                    Color.rgb(25, 25, 112),   // Midnight blue
+                    Color.rgb(72, 61, 139),   // Dark slate blue
+                    Color.rgb(123, 104, 238)  // Medium slate blue
+            },
+            { // OCEAN
+                    Color.rgb(0, 119, 190),   // Ocean blue
+                    Color.rgb(0, 180, 216),   // Sky blue
+                    Color.rgb(144, 224, 239)  // Light blue
+            },
+            { // FOREST
+                    Color.rgb(34, 139, 34),   // Forest green
+                    Color.rgb(107, 142, 35),  // Olive drab
+                    Color.rgb(173, 255, 47)   // Green yellow
+            }
+    };
+
+    // Disco hue advances 2 degrees per pixel row, rainbow 0.5 degrees
+    private static final float DISCO_STRIP_HEIGHT = 180f;
+    private static final float RAINBOW_STRIP_HEIGHT = 720f;
+
+    private final Paint paint = new Paint();
+    private final Matrix matrix = new Matrix();
+
+    private final LinearGradient[] themeShaders = new LinearGradient[THEME_COUNT];
+    private final LinearGradient discoStrip;
+    private final LinearGradient rainbowStrip;
+
+    // The rainbow theme shifts its colors once a second
+    private final int[] rainbowColors = new int[3];
+    private long rainbowSecond = -1;
+
+    private int width, height;
+
+    SkyBackground(int width, int height) {
+        paint.setStyle(Paint.Style.FILL);
+        discoStrip = hueStrip(DISCO_STRIP_HEIGHT, 1.0f);
+        rainbowStrip = hueStrip(RAINBOW_STRIP_HEIGHT, 0.8f);
+        setSize(width, height);
+    }
+
+    void setSize(int width, int height) {
+        this.width = width;
+        this.height = height;
+        for (int i = 0; i < THEME_COUNT; i++) {
+            themeShaders[i] = null;
+        }
+    }
+
+    // Returns top, middle and bottom colors. The array is shared; don't keep or modify it.
+    int[] themeColors(int theme, long now) {
+        if (theme >= 0 && theme < THEME_RAINBOW) {
+            return THEME_COLORS[theme];
+        }
+
+        long second = now / 1000;
+        if (second != rainbowSecond) {
+            rainbowSecond = second;
+            for (int i = 0; i < 3; i++) {
+                rainbowColors[i] = Colors.hsv((second * 50 + i * 120) % 360, 0.8f, 1.0f);
+            }
+            themeShaders[THEME_RAINBOW] = null;
+        }
+        return rainbowColors;
+    }
+
+    void draw(Canvas canvas, int theme, boolean discoMode, boolean rainbowMode, long now) {
+        if (discoMode) {
+            // Disco effect - rapid color changes
+            float hue = ((now / 20) * 10f) % 360;
+            paint.setShader(scrolled(discoStrip, -hue / 2f));
+        } else if (rainbowMode) {
+            // Rainbow gradient effect
+            float hue = ((now / 50) * 2f) % 360;
+            paint.setShader(scrolled(rainbowStrip, -hue * 2f));
+        } else {
+            // Smooth multi-color gradient
+            int slot = theme >= 0 && theme < THEME_RAINBOW ? theme : THEME_RAINBOW;
+            int[] colors = themeColors(slot, now);
+            if (themeShaders[slot] == null) {
+                themeShaders[slot] = new LinearGradient(0, 0, 0, height, colors, null, Shader.TileMode.CLAMP);
+            }
+            paint.setShader(themeShaders[slot]);
+        }
+
+        canvas.drawRect(0, 0, width, height, paint);
+        paint.setShader(null);
+    }
+
+    private Shader scrolled(LinearGradient strip, float offsetY) {
+        matrix.setTranslate(0, offsetY);
+        strip.setLocalMatrix(matrix);
+        return strip;
+    }
+
+    // A full 0..360 hue cycle over stripHeight pixels. Between 60 degree
+    // stops HSV is linear in RGB, so seven stops reproduce it exactly.
+    private LinearGradient hueStrip(float stripHeight, float saturation) {
+        int[] colors = new int[7];
+        for (int i = 0; i < colors.length; i++) {
+            colors[i] = Colors.hsv(i * 60f, saturation, 1.0f);
+        }
+        return new LinearGradient(0, 0, 0, stripHeight, colors, null, Shader.TileMode.REPEAT);
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.funnyflappybird;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+import com.example.funnyflappybird.core.CacheManager;
+import com.example.funnyflappybird.core.Sprites;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Every sprite baked once into a single bitmap, so an entity draws as one
+// blit instead of its handful of shapes. Baking runs on a background thread
+// at startup; until it finishes bitmap() is null and sprites are drawn from
+// their shapes.
+//
+// Cells are packed in shelves in sprite order. Sprites drawn enlarged are
+// baked at their largest scale so the blit only ever shrinks them.
+//
+// The atlas is all or nothing for the cache manager: a budget below its
+// size drops the bitmap, and raising the budget again re-bakes it. At most
+// one baker runs at a time, and the bitmap is only published or evicted
+// under the lock, against the budget as it stands then.
+class SpriteAtlas implements CacheManager.Cache {
+    private static final int WIDTH = 1024;
+    private static final int PADDING = 1;   // keeps filtering from bleeding between cells
+
+    // Where each sprite sits in the bitmap, and the same cell in sprite
+    // coordinates around its anchor
+    final Rect[] cells = new Rect[Sprites.COUNT];
+    final RectF[] bounds = new RectF[Sprites.COUNT];
+    private final int height;
+    private final long bytes;
+
+    private final Object lock = new Object();
+    private final AtomicBoolean baking = new AtomicBoolean();
+    private volatile Bitmap bitmap;  // written under lock
+    private volatile boolean wanted;
+    private long budget = Long.MAX_VALUE; // guarded by lock
+    CacheManager.Counters counters = new CacheManager.Counters();
+
+    SpriteAtlas() {
+        int x = 0, y = 0, rowHeight = 0;
+        for (int sprite = 0; sprite < Sprites.COUNT; sprite++) {
+            float scale = Sprites.maxScale(sprite);
+            int w = (int) Math.ceil(2 * Sprites.halfWidth(sprite) * scale);
+            int h = (int) Math.ceil(2 * Sprites.halfHeight(sprite) * scale);
+            if (x + w > WIDTH) {
+                x = 0;
+                y += rowHeight + PADDING;
+                rowHeight = 0;
+            }
+            cells[sprite] = new Rect(x, y, x + w, y + h);
+            bounds[sprite] = new RectF(-w / 2f / scale, -h / 2f / scale, w / 2f / scale, h / 2f / scale);
+            x += w + PADDING;
+            rowHeight = Math.max(rowHeight, h);
+        }
+        height = y + rowHeight;
+        bytes = (long) WIDTH * height * 4;
+    }
+
+    void bakeAsync() {
+        wanted = true;
+        synchronized (lock) {
+            if (bitmap != null || budget < bytes) {
+                return;
+            }
+        }
+        if (!baking.compareAndSet(false, true)) {
+            return;
+        }
+        Thread baker = new Thread(this::bake, "sprite-baker");
+        baker.setPriority(Thread.MIN_PRIORITY);
+        baker.start();
+    }
+
+    Bitmap bitmap() {
+        return bitmap;
+    }
+
+    @Override
+    public long byteCount() {
+        return bitmap != null ? bytes : 0;
+    }
+
+    // Called by the drawing thread, between frames
+    @Override
+    public void setBudget(long bytes) {
+        boolean rebake;
+        synchronized (lock) {
+            budget = bytes;
+            Bitmap atlas = bitmap;
+            if (bytes < this.bytes && atlas != null) {
+                bitmap = null;
+                atlas.recycle();
+                counters.evictions++;
+            }
+            rebake = bytes >= this.bytes && bitmap == null && wanted;
+        }
+        if (rebake) {
+            bakeAsync();
+        }
+    }
+
+    private void bake() {
+        Bitmap atlas = Bitmap.createBitmap(WIDTH, height, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(atlas);
+        // Sprites have no text, so the shape renderer needs no glyph cache
+        CanvasRenderer shapes = new CanvasRenderer(null, null);
+        shapes.begin(canvas);
+        for (int sprite = 0; sprite < Sprites.COUNT; sprite++) {
+            Rect cell = cells[sprite];
+            float scale = Sprites.maxScale(sprite);
+            canvas.save();
+            canvas.translate(cell.left - bounds[sprite].left * scale, cell.top - bounds[sprite].top * scale);
+            canvas.scale(scale, scale);
+            Sprites.draw(shapes, sprite, 0);
+            canvas.restore();
+        }
+
+        // The budget may have dropped while baking
+        boolean published = false;
+        synchronized (lock) {
+            if (budget >= bytes && bitmap == null) {
+                bitmap = atlas;
+                published = true;
+            }
+        }
+        if (!published) {
+            atlas.recycle();
+        }
+        baking.set(false);
+
+        // A budget raised while this bake was running found it busy; pick
+        // that request up now
+        if (!published) {
+            bakeAsync();
+        }
+    }
+}
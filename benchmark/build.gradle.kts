@@ -0,0 +1,34 @@
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+// JMH benchmarks for the :core hot paths. Run with
+//   ./gradlew :benchmark:jmh
+// Results land in build/results/jmh/results.json for comparison between runs.
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+// Covers the benchmark sources and JMH's generated harness alike; the core
+// classes they exercise carry emoji literals
+tasks.withType<JavaCompile>().configureEach {
+    options.encoding = "UTF-8"
+}
+
+dependencies {
+    jmhImplementation(project(":core"))
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    // Allocation rate next to throughput, so steady-state garbage shows up as a regression too
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    // Narrow a run down with -PjmhIncludes=Collision
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.add(it) }
+}
@@ -0,0 +1,118 @@
+package com.example.funnyflappybird.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Narrow-phase tests per entity type, and the broadphase sweep over a
+// frame's worth of collidables.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CollisionBenchmark {
+    private static final int SCREEN_X = 1080, SCREEN_Y = 1920;
+
+    @Param({"16", "128"})
+    int collidables;
+
+    Bird bird;
+    Pipe[] pipes;
+    Coin[] coins;
+    Obstacle[] obstacles;
+    PowerUp[] powerUps;
+    Broadphase broadphase;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        GameClock clock = new GameClock(World.STEP_MS);
+        bird = new Bird(SCREEN_X, SCREEN_Y, random);
+        pipes = new Pipe[collidables];
+        coins = new Coin[collidables];
+        obstacles = new Obstacle[collidables];
+        powerUps = new PowerUp[collidables];
+        broadphase = new Broadphase();
+
+        // Scatter everything across the screen so hits and misses both show up
+        for (int i = 0; i < collidables; i++) {
+            pipes[i] = new Pipe();
+            pipes[i].reset(SCREEN_X, SCREEN_Y, 6f, random);
+            pipes[i].x = random.nextInt(SCREEN_X);
+            coins[i] = new Coin();
+            coins[i].reset(SCREEN_X, SCREEN_Y, random, clock);
+            coins[i].x = random.nextInt(SCREEN_X);
+            obstacles[i] = new Obstacle();
+            obstacles[i].reset(SCREEN_X, SCREEN_Y, random, clock);
+            obstacles[i].x = random.nextInt(SCREEN_X);
+            powerUps[i] = new PowerUp();
+            powerUps[i].reset(SCREEN_X, SCREEN_Y, random, clock);
+            powerUps[i].x = random.nextInt(SCREEN_X);
+        }
+
+        // World keeps each list in x order, the oldest spawn leftmost
+        Arrays.sort(pipes, (a, b) -> Float.compare(a.x, b.x));
+        Arrays.sort(coins, (a, b) -> Float.compare(a.x, b.x));
+        Arrays.sort(obstacles, (a, b) -> Float.compare(a.x, b.x));
+        Arrays.sort(powerUps, (a, b) -> Float.compare(a.x, b.x));
+    }
+
+    @Benchmark
+    public void pipes(Blackhole blackhole) {
+        for (Pipe pipe : pipes) {
+            blackhole.consume(pipe.collidesWith(bird));
+        }
+    }
+
+    @Benchmark
+    public void coins(Blackhole blackhole) {
+        for (Coin coin : coins) {
+            blackhole.consume(coin.collidesWith(bird));
+        }
+    }
+
+    @Benchmark
+    public void obstacles(Blackhole blackhole) {
+        for (Obstacle obstacle : obstacles) {
+            blackhole.consume(obstacle.collidesWith(bird));
+        }
+    }
+
+    @Benchmark
+    public void powerUps(Blackhole blackhole) {
+        for (PowerUp powerUp : powerUps) {
+            blackhole.consume(powerUp.collidesWith(bird));
+        }
+    }
+
+    // The same interval setup World.resolveCollisions() does, up to the pair
+    // list: one kind after another, each in x order
+    @Benchmark
+    public int broadphase() {
+        broadphase.clear();
+        broadphase.addBird(0, bird.x, bird.x + bird.width);
+        for (int i = 0; i < collidables; i++) {
+            broadphase.add(0, i, pipes[i].x, pipes[i].x + pipes[i].width);
+        }
+        for (int i = 0; i < collidables; i++) {
+            broadphase.add(1, i, coins[i].x - 40, coins[i].x + 40);
+        }
+        for (int i = 0; i < collidables; i++) {
+            broadphase.add(2, i, obstacles[i].x - 35, obstacles[i].x + 35);
+        }
+        for (int i = 0; i < collidables; i++) {
+            float reach = powerUps[i].size + bird.width / 2f;
+            broadphase.add(3, i, powerUps[i].x - reach, powerUps[i].x + reach);
+        }
+        return broadphase.findPairs();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.funnyflappybird.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// HSV conversion as the sky uses it: the three rainbow-theme stops and the
+// seven hue-strip stops for disco and rainbow mode. The shaders themselves
+// need a device; this tracks the color math that feeds them. The table
+// cases compare the lookups the entities use per frame against converting.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ColorBenchmark {
+    private static final HueTable HUES = new HueTable(0.8f, 1.0f);
+
+    long second;
+    long frame;
+
+    @Benchmark
+    public void rainbowThemeColors(Blackhole blackhole) {
+        second++;
+        for (int i = 0; i < 3; i++) {
+            blackhole.consume(Colors.hsv((second * 50 + i * 120) % 360, 0.8f, 1.0f));
+        }
+    }
+
+    @Benchmark
+    public void hueStrip(Blackhole blackhole) {
+        for (int i = 0; i < 7; i++) {
+            blackhole.consume(Colors.hsv(i * 60f, 1.0f, 1.0f));
+        }
+    }
+
+    // Eight sparkles: a hue and a position on a circle each
+    @Benchmark
+    public void sparklesConverted(Blackhole blackhole) {
+        frame++;
+        for (int i = 0; i < 8; i++) {
+            float angle = frame * 8 + i * 45;
+            blackhole.consume((float) Math.cos(Math.toRadians(angle)));
+            blackhole.consume((float) Math.sin(Math.toRadians(angle)));
+            blackhole.consume(Colors.hsv((frame * 3 + i * 45) % 360, 0.8f, 1.0f));
+        }
+    }
+
+    @Benchmark
+    public void sparklesTabled(Blackhole blackhole) {
+        frame++;
+        for (int i = 0; i < 8; i++) {
+            float angle = frame * 8 + i * 45;
+            blackhole.consume(Trig.cosDegrees(angle));
+            blackhole.consume(Trig.sinDegrees(angle));
+            blackhole.consume(HUES.color((frame * 3 + i * 45) % 360));
+        }
+    }
+}
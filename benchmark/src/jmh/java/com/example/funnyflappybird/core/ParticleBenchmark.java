@@ -0,0 +1,54 @@
+package com.example.funnyflappybird.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Particle bursts and the per-step update. A fireworks burst is the 60
+// particles World emits on every fifth point; back-to-back bursts keep the
+// system at capacity, so the eviction path is part of the measurement.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParticleBenchmark {
+    private final Random random = new Random(1);
+
+    ParticleSystem particles;
+
+    @Setup
+    public void setUp() {
+        particles = new ParticleSystem(World.MAX_PARTICLES);
+    }
+
+    @Benchmark
+    public int fireworksBurst() {
+        for (int i = 0; i < 60; i++) {
+            emit(540 + random.nextInt(300) - 150, 640 + random.nextInt(150) - 75, 2500);
+        }
+        particles.update(World.STEP, World.STEP_MS, 0.3f, World.PARTICLE_DRAG, World.PARTICLE_SHRINK);
+        return particles.count;
+    }
+
+    // Update of a full system; whatever died this step is re-emitted
+    @Benchmark
+    public int updateFull() {
+        while (particles.count < particles.capacity()) {
+            emit(random.nextInt(1080), random.nextInt(1920), 1000 + random.nextInt(1500));
+        }
+        particles.update(World.STEP, World.STEP_MS, 0.3f, World.PARTICLE_DRAG, World.PARTICLE_SHRINK);
+        return particles.count;
+    }
+
+    private void emit(float x, float y, float life) {
+        float speed = 5 + random.nextFloat() * 12;
+        float size = 3 + random.nextFloat() * 8;
+        particles.emit(x, y, random.nextInt(360), speed, size, Colors.hsv(random.nextInt(360), 1f, 1f), life);
+    }
+}
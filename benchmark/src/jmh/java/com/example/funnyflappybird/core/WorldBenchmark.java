@@ -0,0 +1,59 @@
+package com.example.funnyflappybird.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// One fixed simulation step of the full update pipeline: difficulty, bird,
+// pipes, coins, obstacles, particles, power-ups, collisions and effects.
+// The bird is kept alive and the coin, obstacle and power-up lists are
+// topped back up to `entities` each step, so every iteration measures the
+// same load instead of a world that empties out or ends.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class WorldBenchmark {
+
+    @Param({"0", "8", "32"})
+    int entities;
+
+    World world;
+
+    @Setup
+    public void setUp() {
+        world = new World(1080, 1920, new Random(1));
+    }
+
+    @Benchmark
+    public World step() {
+        // A permanent shield lets pipes and obstacles pass through; flaps keep the
+        // bird off the ground and boost pickups are damped before the ceiling
+        Bird bird = world.bird;
+        bird.hasShield = true;
+        bird.powerUpTimer = 3000;
+        if (bird.y > world.screenY * 0.55f) {
+            world.tap();
+        } else if (bird.y < world.screenY * 0.25f && bird.velY < 0) {
+            bird.velY = 0;
+        }
+        while (world.coins.size() < entities) {
+            world.spawnCoin();
+        }
+        while (world.obstacles.size() < entities) {
+            world.spawnObstacle();
+        }
+        while (world.powerUps.size() < entities) {
+            world.spawnPowerUp();
+        }
+        world.step();
+        return world;
+    }
+}
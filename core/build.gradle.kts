@@ -0,0 +1,19 @@
+plugins {
+    `java-library`
+}
+
+// Plain JVM module: the simulation has no Android dependencies, so it can be
+// unit-tested, benchmarked and soak-tested off-device
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+// The sources carry emoji literals; don't depend on the build JVM's default charset
+tasks.withType<JavaCompile>().configureEach {
+    options.encoding = "UTF-8"
+}
+
+dependencies {
+    testImplementation(libs.junit)
+}
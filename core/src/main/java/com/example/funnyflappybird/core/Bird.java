@@ -0,0 +1,112 @@
+package com.example.funnyflappybird.core;
+
+import java.util.Random;
+
+import static com.example.funnyflappybird.core.World.STEP;
+import static com.example.funnyflappybird.core.World.STEP_MS;
+
+public class Bird {
+    public float x, y;
+    public float prevY;
+    public float velY;
+    public int width = 60, height = 45;
+    public float gravity = 1.0f;
+    public float jumpStrength = -15f;
+    public int screenX, screenY;
+    public float powerUpTimer = 0;
+    public boolean hasShield = false;
+    public boolean hasBoost = false;
+    public boolean hasSlowTime = false;
+    public float rotation = 0;
+    public int currentExpression = 0; // 0=normal, 1=happy, 2=surprised, 3=angry
+    public long expressionChangeTime = 0;
+    private final Random random;
+
+    public Bird(int screenX, int screenY, Random random) {
+        this.screenX = screenX;
+        this.screenY = screenY;
+        this.random = random;
+        reset();
+    }
+
+    public void reset() {
+        x = screenX / 4f;
+        y = screenY / 2f;
+        prevY = y;
+        velY = 0;
+        powerUpTimer = 0;
+        hasShield = false;
+        hasBoost = false;
+        hasSlowTime = false;
+        rotation = 0;
+        currentExpression = 0;
+    }
+
+    public void savePosition() {
+        prevY = y;
+    }
+
+    public void update(GameClock clock) {
+        velY += gravity * STEP;
+        y += velY * STEP;
+
+        // Rotation based on velocity
+        rotation = velY * 3f;
+        if (rotation > 90) rotation = 90;
+        if (rotation < -30) rotation = -30;
+
+        // Update power-up timer
+        if (powerUpTimer > 0) {
+            powerUpTimer -= STEP_MS;
+            if (powerUpTimer <= 0) {
+                hasShield = false;
+                hasBoost = false;
+                hasSlowTime = false;
+            }
+        }
+
+        // Change expression occasionally
+        if (clock.now() - expressionChangeTime > 2000) {
+            expressionChangeTime = clock.now();
+            currentExpression = random.nextInt(4);
+        }
+    }
+
+    public void flap(GameClock clock) {
+        if (hasBoost) {
+            velY = jumpStrength * 1.3f;
+        } else {
+            velY = jumpStrength;
+        }
+        currentExpression = 1; // Happy expression when flapping
+        expressionChangeTime = clock.now();
+    }
+
+    public void applyPowerUp(int type) {
+        powerUpTimer = 3000; // 3 seconds
+        switch (type) {
+            case PowerUp.SHIELD:
+                hasShield = true;
+                currentExpression = 2; // Surprised
+                break;
+            case PowerUp.BOOST:
+                hasBoost = true;
+                velY = jumpStrength * 1.5f;
+                currentExpression = 1; // Happy
+                break;
+            case PowerUp.SLOW_TIME:
+                // World scales the clock while this is set
+                hasSlowTime = true;
+                currentExpression = 2; // Surprised
+                break;
+        }
+    }
+
+    public float centerX() {
+        return x + width / 2f;
+    }
+
+    public float centerY() {
+        return y + height / 2f;
+    }
+}
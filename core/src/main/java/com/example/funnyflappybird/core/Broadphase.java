@@ -0,0 +1,166 @@
+package com.example.funnyflappybird.core;
+
+import java.util.Arrays;
+
+// Sweep-and-prune along the scroll axis. Every frame the caller adds the
+// birds and the collidables as x-intervals, then findPairs() reports each
+// (bird, collidable) pair whose intervals overlap. Collidables are tagged
+// with a caller-defined kind and their index in the caller's list, so the
+// narrow phase can go straight to the entity.
+//
+// The caller adds each kind from a list that is already in x order, since
+// everything scrolls left at one speed, but the kinds interleave in x.
+// add() notes where each ascending run starts and the sort merges the
+// runs pairwise, so a frame costs n log(runs) however the kinds overlap,
+// and the sweep only ever compares against intervals that are still open.
+class Broadphase {
+    private static final int BIRD = -1;
+
+    private float[] minX = new float[64];
+    private float[] maxX = new float[64];
+    private int[] kind = new int[64];
+    private int[] index = new int[64];
+    private int[] order = new int[64];
+    private int[] merged = new int[64];
+    private int count;
+
+    // Where each ascending run of minX starts, in add order
+    private int[] runStart = new int[8];
+    private int runs;
+
+    // Intervals still open during the sweep
+    private int[] activeBirds = new int[8];
+    private int[] activeOthers = new int[64];
+
+    // Candidate pairs from the last findPairs()
+    int pairCount;
+    int[] pairBird = new int[32];
+    int[] pairKind = new int[32];
+    int[] pairIndex = new int[32];
+
+    void clear() {
+        count = 0;
+        runs = 0;
+        pairCount = 0;
+    }
+
+    void addBird(int birdIndex, float left, float right) {
+        add(BIRD, birdIndex, left, right);
+    }
+
+    void add(int collidableKind, int collidableIndex, float left, float right) {
+        if (count == minX.length) {
+            grow();
+        }
+        if (count == 0 || left < minX[count - 1]) {
+            if (runs == runStart.length) {
+                runStart = Arrays.copyOf(runStart, runs * 2);
+            }
+            runStart[runs++] = count;
+        }
+        minX[count] = left;
+        maxX[count] = right;
+        kind[count] = collidableKind;
+        index[count] = collidableIndex;
+        order[count] = count;
+        count++;
+    }
+
+    int findPairs() {
+        sortByMinX();
+
+        pairCount = 0;
+        int birds = 0;
+        int others = 0;
+        for (int o = 0; o < count; o++) {
+            int p = order[o];
+            float start = minX[p];
+
+            // Drop every interval that ended before this one starts
+            birds = prune(activeBirds, birds, start);
+            others = prune(activeOthers, others, start);
+
+            if (kind[p] == BIRD) {
+                for (int i = 0; i < others; i++) {
+                    addPair(index[p], activeOthers[i]);
+                }
+                if (birds == activeBirds.length) {
+                    activeBirds = Arrays.copyOf(activeBirds, birds * 2);
+                }
+                activeBirds[birds++] = p;
+            } else {
+                for (int i = 0; i < birds; i++) {
+                    addPair(index[activeBirds[i]], p);
+                }
+                if (others == activeOthers.length) {
+                    activeOthers = Arrays.copyOf(activeOthers, others * 2);
+                }
+                activeOthers[others++] = p;
+            }
+        }
+        return pairCount;
+    }
+
+    private int prune(int[] active, int size, float start) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (maxX[active[i]] >= start) {
+                active[kept++] = active[i];
+            }
+        }
+        return kept;
+    }
+
+    private void addPair(int bird, int proxy) {
+        if (pairCount == pairBird.length) {
+            int size = pairCount * 2;
+            pairBird = Arrays.copyOf(pairBird, size);
+            pairKind = Arrays.copyOf(pairKind, size);
+            pairIndex = Arrays.copyOf(pairIndex, size);
+        }
+        pairBird[pairCount] = bird;
+        pairKind[pairCount] = kind[proxy];
+        pairIndex[pairCount] = index[proxy];
+        pairCount++;
+    }
+
+    // Stable, so equal starts keep their add order
+    private void sortByMinX() {
+        while (runs > 1) {
+            int kept = 0;
+            for (int r = 0; r < runs; r += 2) {
+                int lo = runStart[r];
+                int mid = r + 1 < runs ? runStart[r + 1] : count;
+                int hi = r + 2 < runs ? runStart[r + 2] : count;
+                merge(lo, mid, hi);
+                runStart[kept++] = lo;
+            }
+            runs = kept;
+            int[] sorted = merged;
+            merged = order;
+            order = sorted;
+        }
+    }
+
+    // Merges order[lo, mid) and order[mid, hi) into merged[lo, hi)
+    private void merge(int lo, int mid, int hi) {
+        int a = lo, b = mid;
+        for (int k = lo; k < hi; k++) {
+            if (b == hi || (a < mid && minX[order[a]] <= minX[order[b]])) {
+                merged[k] = order[a++];
+            } else {
+                merged[k] = order[b++];
+            }
+        }
+    }
+
+    private void grow() {
+        int size = minX.length * 2;
+        minX = Arrays.copyOf(minX, size);
+        maxX = Arrays.copyOf(maxX, size);
+        kind = Arrays.copyOf(kind, size);
+        index = Arrays.copyOf(index, size);
+        order = Arrays.copyOf(order, size);
+        merged = new int[size];
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.funnyflappybird.core;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+// One memory budget shared by the render caches. Each registered cache
+// gets a fixed share of the total and evicts least-recently-used entries
+// to stay within it; anything evicted is rebuilt on demand. Under memory
+// pressure every budget shrinks by the same factor, and rises again once
+// the pressure is lifted.
+//
+// Pressure is usually reported on the UI thread while another thread is
+// drawing from the caches, so request() only records it and the drawing
+// thread calls applyPending() before it next touches a cache.
+public class CacheManager {
+    public interface Cache {
+        long byteCount();
+
+        // Evict until byteCount() is at most bytes, and keep under it from now on
+        void setBudget(long bytes);
+    }
+
+    // Bumped by the cache itself
+    public static class Counters {
+        public long hits, misses, evictions;
+    }
+
+    private static class Entry {
+        final String name;
+        final float share;
+        final Cache cache;
+        final Counters counters = new Counters();
+
+        Entry(String name, float share, Cache cache) {
+            this.name = name;
+            this.share = share;
+            this.cache = cache;
+        }
+    }
+
+    private final long totalBytes;
+    private final ArrayList<Entry> entries = new ArrayList<>();
+    private float keep = 1f;
+    private volatile float pendingKeep = -1f;
+
+    public CacheManager(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    // share is the fraction of the total this cache may hold
+    public Counters register(String name, float share, Cache cache) {
+        Entry entry = new Entry(name, share, cache);
+        entries.add(entry);
+        cache.setBudget(budget(entry));
+        return entry.counters;
+    }
+
+    // Scale every budget to keep of its full size: 1 is no pressure, 0
+    // empties the caches. Takes effect at the next applyPending().
+    public void request(float keep) {
+        pendingKeep = Math.max(0f, Math.min(keep, 1f));
+    }
+
+    // True if a pending request changed the budgets
+    public boolean applyPending() {
+        float pending = pendingKeep;
+        if (pending < 0) {
+            return false;
+        }
+        pendingKeep = -1f;
+        if (pending == keep) {
+            return false;
+        }
+        keep = pending;
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            entry.cache.setBudget(budget(entry));
+        }
+        return true;
+    }
+
+    public float keep() {
+        return keep;
+    }
+
+    public long byteCount() {
+        long bytes = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            bytes += entries.get(i).cache.byteCount();
+        }
+        return bytes;
+    }
+
+    public long budgetBytes() {
+        return (long) (totalBytes * keep);
+    }
+
+    // Across all caches, 0 to 1; 1 with no lookups yet
+    public float hitRate() {
+        long hits = 0, lookups = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            Counters counters = entries.get(i).counters;
+            hits += counters.hits;
+            lookups += counters.hits + counters.misses;
+        }
+        return lookups == 0 ? 1f : (float) hits / lookups;
+    }
+
+    public void resetCounters() {
+        for (int i = 0; i < entries.size(); i++) {
+            Counters counters = entries.get(i).counters;
+            counters.hits = 0;
+            counters.misses = 0;
+            counters.evictions = 0;
+        }
+    }
+
+    public void writeReport(Appendable out) throws IOException {
+        out.append("caches keep ").append(Float.toString(keep))
+                .append(" bytes ").append(Long.toString(byteCount()))
+                .append(" budget ").append(Long.toString(budgetBytes())).append('\n');
+        out.append("cache bytes budget hits misses evictions\n");
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            out.append(entry.name).append(' ')
+                    .append(Long.toString(entry.cache.byteCount())).append(' ')
+                    .append(Long.toString(budget(entry))).append(' ')
+                    .append(Long.toString(entry.counters.hits)).append(' ')
+                    .append(Long.toString(entry.counters.misses)).append(' ')
+                    .append(Long.toString(entry.counters.evictions)).append('\n');
+        }
+    }
+
+    private long budget(Entry entry) {
+        return (long) (totalBytes * entry.share * keep);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.funnyflappybird.core;
+
+import static com.example.funnyflappybird.core.World.STEP;
+import static com.example.funnyflappybird.core.World.STEP_MS;
+
+public class ChatBubble {
+    public String message;
+    public float x, y;
+    public float life;
+    public float maxLife;
+
+    public void reset(String message, float x, float y) {
+        this.message = message;
+        this.x = x;
+        this.y = y;
+        this.life = 3000;
+        this.maxLife = 3000;
+    }
+
+    public void update() {
+        life -= STEP_MS;
+        y -= 0.5f * STEP; // Float upward
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.funnyflappybird.core;
+
+import java.util.Random;
+
+import static com.example.funnyflappybird.core.World.STEP;
+
+public class Coin {
+    public float x, y;
+    public float prevX, prevY;
+    public float speed;
+    public long animationTime;
+    public int screenX, screenY;
+    public boolean collected;
+
+    public void reset(int screenX, int screenY, Random random, GameClock clock) {
+        this.screenX = screenX;
+        this.screenY = screenY;
+        collected = false;
+        x = screenX + 50;
+        y = 150 + random.nextInt(screenY - 350);
+        savePosition();
+        animationTime = clock.now();
+    }
+
+    public void savePosition() {
+        prevX = x;
+        prevY = y;
+    }
+
+    public void update(float speed, GameClock clock) {
+        this.speed = speed;
+        x -= speed * STEP;
+        // Floating animation
+        y += Trig.sin((clock.now() - animationTime) * 0.01) * 2 * STEP;
+    }
+
+    public boolean collidesWith(Bird bird) {
+        return Collisions.withinDistance(x, y, bird.centerX(), bird.centerY(), 40);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.funnyflappybird.core;
+
+// Allocation-free overlap tests on plain floats. Boxes are given as
+// left, top, right, bottom. Like RectF.intersect, shapes that only touch
+// along an edge do not count as overlapping, and circle tests compare
+// squared distances so no square root is taken.
+final class Collisions {
+
+    private Collisions() {
+    }
+
+    static boolean boxesOverlap(float left1, float top1, float right1, float bottom1,
+                                float left2, float top2, float right2, float bottom2) {
+        return left1 < right2 && left2 < right1 && top1 < bottom2 && top2 < bottom1;
+    }
+
+    static boolean circleOverlapsBox(float cx, float cy, float radius,
+                                     float left, float top, float right, float bottom) {
+        // Distance from the center to the nearest point of the box
+        float dx = cx - Math.max(left, Math.min(cx, right));
+        float dy = cy - Math.max(top, Math.min(cy, bottom));
+        return dx * dx + dy * dy < radius * radius;
+    }
+
+    static boolean circlesOverlap(float x1, float y1, float radius1,
+                                  float x2, float y2, float radius2) {
+        return withinDistance(x1, y1, x2, y2, radius1 + radius2);
+    }
+
+    static boolean withinDistance(float x1, float y1, float x2, float y2, float distance) {
+        float dx = x1 - x2;
+        float dy = y1 - y2;
+        return dx * dx + dy * dy < distance * distance;
+    }
+}
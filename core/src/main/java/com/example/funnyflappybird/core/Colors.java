@@ -0,0 +1,73 @@
+package com.example.funnyflappybird.core;
+
+// ARGB color helpers that don't need android.graphics.Color, so the
+// simulation can pick particle colors on a plain JVM.
+public final class Colors {
+    public static final int BLACK = 0xFF000000;
+    public static final int WHITE = 0xFFFFFFFF;
+    public static final int GRAY = 0xFF888888;
+    public static final int RED = 0xFFFF0000;
+    public static final int BLUE = 0xFF0000FF;
+    public static final int YELLOW = 0xFFFFFF00;
+    public static final int CYAN = 0xFF00FFFF;
+    public static final int MAGENTA = 0xFFFF00FF;
+
+    private Colors() {
+    }
+
+    // The color with its alpha replaced, like Paint.setAlpha after setColor
+    public static int withAlpha(int color, int alpha) {
+        return (color & 0x00FFFFFF) | alpha << 24;
+    }
+
+    // Same conventions as Color.HSVToColor: hue in degrees, saturation and
+    // value in [0, 1], fully opaque result
+    public static int hsv(float hue, float saturation, float value) {
+        float h = hue % 360f;
+        if (h < 0) {
+            h += 360f;
+        }
+        h /= 60f;
+        int sector = (int) h;
+        float f = h - sector;
+        float p = value * (1 - saturation);
+        float q = value * (1 - saturation * f);
+        float t = value * (1 - saturation * (1 - f));
+        switch (sector) {
+            case 0: return rgb(value, t, p);
+            case 1: return rgb(q, value, p);
+            case 2: return rgb(p, value, t);
+            case 3: return rgb(p, q, value);
+            case 4: return rgb(t, p, value);
+            default: return rgb(value, p, q);
+        }
+    }
+
+    // 4x5 color matrix, row-major as ColorMatrix takes it, that rotates hue
+    // by degrees about the gray axis with luminance held. It approximates
+    // an HSV hue shift: grays stay put, saturated colors drift a little in
+    // brightness.
+    public static float[] hueRotation(float degrees) {
+        float cos = Trig.cosDegrees(degrees);
+        float sin = Trig.sinDegrees(degrees);
+        return new float[] {
+                0.213f + cos * 0.787f - sin * 0.213f,
+                0.715f - cos * 0.715f - sin * 0.715f,
+                0.072f - cos * 0.072f + sin * 0.928f, 0, 0,
+                0.213f - cos * 0.213f + sin * 0.143f,
+                0.715f + cos * 0.285f + sin * 0.140f,
+                0.072f - cos * 0.072f - sin * 0.283f, 0, 0,
+                0.213f - cos * 0.213f - sin * 0.787f,
+                0.715f - cos * 0.715f + sin * 0.715f,
+                0.072f + cos * 0.928f + sin * 0.072f, 0, 0,
+                0, 0, 0, 1, 0,
+        };
+    }
+
+    private static int rgb(float r, float g, float b) {
+        return 0xFF000000
+                | Math.round(r * 255) << 16
+                | Math.round(g * 255) << 8
+                | Math.round(b * 255);
+    }
+}
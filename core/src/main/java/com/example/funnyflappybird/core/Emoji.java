@@ -0,0 +1,33 @@
+package com.example.funnyflappybird.core;
+
+import java.util.Random;
+
+import static com.example.funnyflappybird.core.World.STEP;
+
+// Flying emoji
+public class Emoji {
+    private static final String[] EMOJIS = {"😄", "🎉", "⭐", "🌟", "💫", "🎈", "🦋", "🌈", "☀️", "⚡"};
+
+    public String emoji;
+    public float x, y;
+    public float prevX, prevY;
+    public float speed;
+
+    public void reset(int screenX, int screenY, Random random) {
+        emoji = EMOJIS[random.nextInt(EMOJIS.length)];
+        x = screenX + 50;
+        y = 50 + random.nextInt(screenY - 200);
+        speed = 2 + random.nextFloat() * 3;
+        savePosition();
+    }
+
+    public void savePosition() {
+        prevX = x;
+        prevY = y;
+    }
+
+    public void update(GameClock clock) {
+        x -= speed * STEP;
+        y += Trig.sin(clock.now() * 0.01 + x * 0.01) * 2 * STEP;
+    }
+}
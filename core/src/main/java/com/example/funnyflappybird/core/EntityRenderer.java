@@ -0,0 +1,233 @@
+package com.example.funnyflappybird.core;
+
+import java.util.Arrays;
+
+// Drawing for the simulation's entities, against the Renderer interface so
+// a frame can be recorded and measured off-device. Positions are
+// interpolated between the last two simulation steps with the clock's
+// alpha, and animations read the clock's frame time.
+public class EntityRenderer {
+    // The saturation/value pairs the entities cycle hues through
+    private static final HueTable PIPE_HUES = new HueTable(0.6f, 0.8f);
+    private static final HueTable STRIPE_HUES = new HueTable(0.7f, 0.6f);
+
+    private static final float EFFECT_TEXT_SIZE = 50;
+    private static final float BUBBLE_TEXT_SIZE = 30;
+    private static final float EMOJI_TEXT_SIZE = 40;
+
+    // Decoration knobs, set from the quality tier before each capture
+    public int sparkles = 8;
+    public boolean textShadows = true;
+
+    // Scratch for circles() batches, grown to the largest batch seen
+    private float[] batchXyr = new float[64 * 3];
+    private int[] batchColors = new int[64];
+    private int batchCount;
+
+    // Everything between the scenery and the particles, back to front
+    public void drawEntities(Renderer r, World world) {
+        GameClock clock = world.clock;
+        for (int i = 0; i < world.flyingEmojis.size(); i++) {
+            drawEmoji(r, world.flyingEmojis.get(i), clock);
+        }
+        for (int i = 0; i < world.coins.size(); i++) {
+            drawCoin(r, world.coins.get(i), clock);
+        }
+        for (int i = 0; i < world.obstacles.size(); i++) {
+            drawObstacle(r, world.obstacles.get(i), clock);
+        }
+        for (int i = 0; i < world.pipes.size(); i++) {
+            drawPipe(r, world.pipes.get(i), clock);
+        }
+        for (int i = 0; i < world.powerUps.size(); i++) {
+            drawPowerUp(r, world.powerUps.get(i), clock);
+        }
+        drawBird(r, world.bird, clock);
+    }
+
+    // Funny effects and chat bubbles, drawn over the particles
+    public void drawEffects(Renderer r, World world) {
+        for (int i = 0; i < world.funnyEffects.size(); i++) {
+            drawFunnyEffect(r, world.funnyEffects.get(i), world.clock);
+        }
+        for (int i = 0; i < world.chatBubbles.size(); i++) {
+            drawChatBubble(r, world.chatBubbles.get(i));
+        }
+    }
+
+    public void drawBird(Renderer r, Bird bird, GameClock clock) {
+        float x = bird.x;
+        float y = bird.prevY + (bird.y - bird.prevY) * clock.alpha();
+        int width = bird.width, height = bird.height;
+
+        // Hue-cycled body and wing, then the eyes and beak in fixed colors,
+        // both turned with the bird
+        long time = clock.frameTime() / 100;
+        float hue = (time * 2) % 360;
+        float wingOffset = Trig.sin(time * 0.5) * 5;
+        float cx = x + width/2f, cy = y + height/2f;
+        r.sprite(Sprites.bird(wingOffset), cx, cy, bird.rotation, 1, hue);
+        r.sprite(Sprites.birdFace(bird.currentExpression), cx, cy, bird.rotation, 1, 0);
+
+        // Shield effect with rainbow colors
+        if (bird.hasShield) {
+            long shieldTime = clock.frameTime() / 50;
+            for (int i = 0; i < 4; i++) {
+                float shieldHue = (shieldTime * 5 + i * 90) % 360;
+                batch(x + width/2f, y + height/2f, width + i * 8,
+                        Colors.withAlpha(HueTable.RAINBOW.color(shieldHue), 120 - i * 25));
+            }
+            flush(r);
+        }
+
+        // Boost effect
+        if (bird.hasBoost) {
+            r.oval(x - 10, y - 5, x + width + 10, y + height + 5, Colors.withAlpha(Colors.YELLOW, 150));
+        }
+    }
+
+    public void drawPipe(Renderer r, Pipe pipe, GameClock clock) {
+        float x = pipe.prevX + (pipe.x - pipe.prevX) * clock.alpha();
+        int width = pipe.width;
+        float topHeight = pipe.topHeight, bottomY = pipe.bottomY;
+        int screenY = pipe.screenY;
+
+        // Colorful pipes with gradient
+        long time = clock.frameTime() / 200;
+        float hue = (time + x * 0.1f) % 360;
+        int pipeColor = PIPE_HUES.color(hue);
+        int capColor = HueTable.VIVID.color(hue);
+
+        // Top pipe, with a brighter cap
+        r.rect(x, 0, x + width, topHeight, pipeColor);
+        r.rect(x - 10, topHeight - 30, x + width + 10, topHeight, capColor);
+
+        // Bottom pipe and cap
+        r.rect(x, bottomY, x + width, screenY - 100, pipeColor);
+        r.rect(x - 10, bottomY, x + width + 10, bottomY + 30, capColor);
+
+        // Pipe decorations with complementary colors
+        int stripeColor = STRIPE_HUES.color(hue + 180);
+        for (int i = 0; i < topHeight; i += 40) {
+            r.rect(x, i, x + width, i + 10, stripeColor);
+        }
+        for (float i = bottomY; i < screenY - 100; i += 40) {
+            r.rect(x, i, x + width, i + 10, stripeColor);
+        }
+    }
+
+    public void drawCoin(Renderer r, Coin coin, GameClock clock) {
+        float x = coin.prevX + (coin.x - coin.prevX) * clock.alpha();
+        float y = coin.prevY + (coin.y - coin.prevY) * clock.alpha();
+
+        long time = clock.frameTime() - coin.animationTime;
+        float rotation = time * 0.01f;
+        float scale = 1.0f + Trig.sin(time * 0.008) * 0.2f;
+
+        r.sprite(Sprites.COIN, x, y, (float) Math.toDegrees(rotation), scale, 0);
+    }
+
+    public void drawObstacle(Renderer r, Obstacle obstacle, GameClock clock) {
+        float x = obstacle.prevX + (obstacle.x - obstacle.prevX) * clock.alpha();
+        float y = obstacle.prevY + (obstacle.y - obstacle.prevY) * clock.alpha();
+        long time = clock.frameTime() - obstacle.animationTime;
+
+        switch (obstacle.type) {
+            case 0: // Spinning blade
+                r.sprite(Sprites.BLADE, x, y, time * 0.02f, 1, 0);
+                break;
+
+            case 1: // Bouncing ball
+                r.sprite(Sprites.BALL, x, y, 0, 1, (time * 0.1f) % 360);
+                break;
+
+            case 2: // Laser
+                r.sprite(Sprites.LASER, x, y, 0, 1, 0);
+                break;
+        }
+    }
+
+    public void drawPowerUp(Renderer r, PowerUp powerUp, GameClock clock) {
+        float x = powerUp.prevX + (powerUp.x - powerUp.prevX) * clock.alpha();
+        float y = powerUp.prevY + (powerUp.y - powerUp.prevY) * clock.alpha();
+        long now = clock.frameTime();
+
+        float pulse = Trig.sin((now - powerUp.animationTime) * 0.01) * 0.3f + 1f;
+        float drawSize = powerUp.size * pulse;
+
+        r.sprite(Sprites.POWER_UP + powerUp.type, x, y, 0, drawSize / Sprites.POWER_UP_SIZE, 0);
+
+        // Rainbow sparkle effect
+        long sparkleTime = now / 80;
+        float spacing = 360f / sparkles;
+        for (int i = 0; i < sparkles; i++) {
+            float angle = sparkleTime * 8 + i * spacing;
+            float sparkleX = x + Trig.cosDegrees(angle) * drawSize * 1.4f;
+            float sparkleY = y + Trig.sinDegrees(angle) * drawSize * 1.4f;
+
+            float hue = (sparkleTime * 3 + i * spacing) % 360;
+            batch(sparkleX, sparkleY, 5, HueTable.RAINBOW.color(hue));
+        }
+        flush(r);
+    }
+
+    public void drawEmoji(Renderer r, Emoji emoji, GameClock clock) {
+        float x = emoji.prevX + (emoji.x - emoji.prevX) * clock.alpha();
+        float y = emoji.prevY + (emoji.y - emoji.prevY) * clock.alpha();
+
+        r.text(emoji.emoji, x + 1, y + 1, EMOJI_TEXT_SIZE, Colors.withAlpha(Colors.WHITE, 200));
+    }
+
+    public void drawFunnyEffect(Renderer r, FunnyEffect effect, GameClock clock) {
+        float alpha = effect.life / effect.maxLife;
+
+        // Shadow
+        if (textShadows) {
+            r.text(effect.text, effect.x + 2, effect.y + 2, EFFECT_TEXT_SIZE,
+                    Colors.withAlpha(Colors.BLACK, (int) (100 * alpha)));
+        }
+
+        // Main text with rainbow colors
+        long time = clock.frameTime() / 100;
+        float hue = (time * 10) % 360;
+        r.text(effect.text, effect.x, effect.y, EFFECT_TEXT_SIZE,
+                Colors.withAlpha(HueTable.RAINBOW.color(hue), (int) (255 * alpha)));
+    }
+
+    public void drawChatBubble(Renderer r, ChatBubble bubble) {
+        float alpha = bubble.life / bubble.maxLife;
+        float x = bubble.x, y = bubble.y;
+
+        // Bubble background and border
+        r.roundRect(x - 50, y - 20, x + 50, y + 20, 20, Colors.withAlpha(Colors.WHITE, (int) (200 * alpha)));
+        r.strokeRoundRect(x - 50, y - 20, x + 50, y + 20, 20, 3, Colors.withAlpha(Colors.BLACK, (int) (150 * alpha)));
+
+        // Text
+        r.text(bubble.message, x, y + 8, BUBBLE_TEXT_SIZE, Colors.withAlpha(Colors.BLACK, (int) (255 * alpha)));
+    }
+
+    public void drawParticles(Renderer r, ParticleSystem p) {
+        for (int i = 0; i < p.count; i++) {
+            batch(p.x[i], p.y[i], p.size[i], Colors.withAlpha(p.color[i], (int) (255 * (p.life[i] / p.maxLife[i]))));
+        }
+        flush(r);
+    }
+
+    private void batch(float x, float y, float radius, int color) {
+        if (batchCount == batchColors.length) {
+            batchXyr = Arrays.copyOf(batchXyr, batchCount * 6);
+            batchColors = Arrays.copyOf(batchColors, batchCount * 2);
+        }
+        batchXyr[batchCount * 3] = x;
+        batchXyr[batchCount * 3 + 1] = y;
+        batchXyr[batchCount * 3 + 2] = radius;
+        batchColors[batchCount++] = color;
+    }
+
+    private void flush(Renderer r) {
+        if (batchCount > 0) {
+            r.circles(batchXyr, 0, batchColors, 0, batchCount);
+            batchCount = 0;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.funnyflappybird.core;
+
+// Everything needed to draw one frame, captured from the World on the
+// simulation thread so another thread can draw it while the next steps
+// run. Entities, particles and effects are recorded as draw commands with
+// interpolation already applied; the rest is the handful of numbers the
+// sky, ground, HUD and game-over screen read. Snapshots are preallocated
+// and refilled; the drawing side treats them as read-only.
+public class FrameSnapshot {
+    public final RecordingRenderer entities = new RecordingRenderer();
+    public final RecordingRenderer particles = new RecordingRenderer();
+    public final RecordingRenderer effects = new RecordingRenderer();
+
+    public long frameTime;
+    public long realTime;
+    public long updateNanos; // simulating and capturing this frame
+
+    public boolean gameOver;
+    public int score, highScore, coins, level;
+    public float currentSpeed;
+    public float powerUpTimer;
+    public long levelUpTime;
+    public boolean discoMode, rainbowMode;
+    public float shakeOffset;
+    public long shakeTime;
+    public double distance;
+
+    // Taps applied since the last presented snapshot
+    private final long[] tapEvents = new long[16];
+    private final long[] tapApplied = new long[16];
+    private int taps;
+
+    public void capture(World world, EntityRenderer renderer) {
+        entities.clear();
+        renderer.drawEntities(entities, world);
+        particles.clear();
+        renderer.drawParticles(particles, world.particles);
+        effects.clear();
+        renderer.drawEffects(effects, world);
+
+        frameTime = world.clock.frameTime();
+        realTime = world.clock.realTime();
+        gameOver = world.gameOver;
+        score = world.score;
+        highScore = world.highScore;
+        coins = world.coins_collected;
+        level = world.level;
+        currentSpeed = world.currentSpeed;
+        powerUpTimer = world.bird.powerUpTimer;
+        levelUpTime = world.levelUpTime;
+        discoMode = world.discoMode;
+        rainbowMode = world.rainbowMode;
+        shakeOffset = world.shakeOffset;
+        shakeTime = world.shakeTime;
+        distance = world.distance;
+
+        // Appended, not replaced: a snapshot that was never drawn comes back
+        // to the producer still holding its taps
+        taps = world.latency.takePending(tapEvents, tapApplied, taps);
+    }
+
+    // The snapshot has been posted to the screen
+    public void presented(LatencyTracer latency, long nowNanos) {
+        latency.presented(tapEvents, tapApplied, taps, nowNanos);
+        taps = 0;
+    }
+}
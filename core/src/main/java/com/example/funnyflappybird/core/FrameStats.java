@@ -0,0 +1,146 @@
+package com.example.funnyflappybird.core;
+
+import java.io.IOException;
+
+// Per-phase frame timing. A frame is split into phases by calling mark()
+// as each one finishes; time since the previous mark is charged to that
+// phase, so a phase may be marked more than once per frame. Each phase and
+// the whole frame feed a Histogram, and frames over the refresh budget are
+// counted as jank.
+public class FrameStats {
+    public static final int UPDATE = 0;
+    public static final int BACKGROUND = 1;
+    public static final int SCENERY = 2;
+    public static final int ENTITIES = 3;
+    public static final int PARTICLES = 4;
+    public static final int TEXT = 5;
+    public static final int POST = 6;
+    public static final int PHASE_COUNT = 7;
+
+    private static final String[] PHASE_NAMES = {
+            "update", "background", "scenery", "entities", "particles", "text/ui", "lock+post"
+    };
+
+    private final Histogram[] phases = new Histogram[PHASE_COUNT];
+    private final Histogram frame = new Histogram();
+    private final long[] phaseNanos = new long[PHASE_COUNT];
+
+    private long budgetNanos;
+    private long frameStart;
+    private long lastMark;
+    private long lastFrameNanos;
+    private long frames;
+    private long jankFrames;
+    private long gcFrames;
+    private long gcCount;
+
+    public FrameStats(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+        for (int i = 0; i < PHASE_COUNT; i++) {
+            phases[i] = new Histogram();
+        }
+    }
+
+    public void setBudget(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+    }
+
+    public long budgetNanos() {
+        return budgetNanos;
+    }
+
+    public void beginFrame(long nowNanos) {
+        frameStart = nowNanos;
+        lastMark = nowNanos;
+        for (int i = 0; i < PHASE_COUNT; i++) {
+            phaseNanos[i] = 0;
+        }
+    }
+
+    public void mark(int phase, long nowNanos) {
+        phaseNanos[phase] += nowNanos - lastMark;
+        lastMark = nowNanos;
+    }
+
+    // Charge time measured elsewhere, such as on another thread, to a
+    // phase without moving the mark
+    public void charge(int phase, long nanos) {
+        phaseNanos[phase] += nanos;
+    }
+
+    // gcs is the number of collections that ran since the previous frame ended
+    public void endFrame(long nowNanos, int gcs) {
+        for (int i = 0; i < PHASE_COUNT; i++) {
+            phases[i].record(phaseNanos[i]);
+        }
+        long total = nowNanos - frameStart;
+        frame.record(total);
+        lastFrameNanos = total;
+        frames++;
+        if (total > budgetNanos) {
+            jankFrames++;
+        }
+        if (gcs > 0) {
+            gcFrames++;
+            gcCount += gcs;
+        }
+    }
+
+    public void reset() {
+        for (Histogram phase : phases) {
+            phase.reset();
+        }
+        frame.reset();
+        frames = 0;
+        jankFrames = 0;
+        gcFrames = 0;
+        gcCount = 0;
+    }
+
+    public static String phaseName(int phase) {
+        return PHASE_NAMES[phase];
+    }
+
+    public Histogram phase(int phase) {
+        return phases[phase];
+    }
+
+    public Histogram frame() {
+        return frame;
+    }
+
+    // Length of the frame most recently ended
+    public long lastFrameNanos() {
+        return lastFrameNanos;
+    }
+
+    public long frames() {
+        return frames;
+    }
+
+    public long jankFrames() {
+        return jankFrames;
+    }
+
+    public long gcFrames() {
+        return gcFrames;
+    }
+
+    public long gcCount() {
+        return gcCount;
+    }
+
+    // Plain-text table for offline comparison; times in microseconds
+    public void writeReport(Appendable out) throws IOException {
+        out.append("frames ").append(Long.toString(frames))
+                .append(" jank ").append(Long.toString(jankFrames))
+                .append(" budget_us ").append(Long.toString(budgetNanos / 1000))
+                .append(" gc_frames ").append(Long.toString(gcFrames))
+                .append(" gcs ").append(Long.toString(gcCount)).append('\n');
+        out.append("phase p50_us p95_us p99_us max_us mean_us\n");
+        for (int i = 0; i < PHASE_COUNT; i++) {
+            phases[i].writeRow(out, PHASE_NAMES[i]);
+        }
+        frame.writeRow(out, "frame");
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.funnyflappybird.core;
+
+import static com.example.funnyflappybird.core.World.STEP;
+import static com.example.funnyflappybird.core.World.STEP_MS;
+
+// Floating text that rises and fades out
+public class FunnyEffect {
+    public String text;
+    public float x, y;
+    public float life;
+    public float maxLife;
+    public float velY;
+
+    public void reset(String text, float x, float y) {
+        this.text = text;
+        this.x = x;
+        this.y = y;
+        this.life = 2000;
+        this.maxLife = 2000;
+        this.velY = -2f;
+    }
+
+    public void update() {
+        y += velY * STEP;
+        life -= STEP_MS;
+    }
+}
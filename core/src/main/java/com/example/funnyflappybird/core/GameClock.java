@@ -0,0 +1,86 @@
+package com.example.funnyflappybird.core;
+
+// The one time source for a frame. The frame timestamp is sampled once per
+// display frame; simulation time advances by a fixed step per update and
+// is what gameplay timers and animations read, so everything inside a
+// frame sees the same instant. A time scale below 1 slows the simulation
+// and every animation driven by it together.
+public class GameClock {
+    private final float stepMs;
+
+    private boolean started;
+    private boolean resync = true;
+    private long firstFrameNanos;
+    private long lastFrameNanos;
+    private long frameDeltaNanos;
+    private long realMillis;
+    private double simMillis;
+    private float timeScale = 1f;
+    private float alpha;
+
+    public GameClock(float stepMs) {
+        this.stepMs = stepMs;
+    }
+
+    // Samples the frame timestamp and returns the scaled time to simulate, in ms
+    public float beginFrame(long frameTimeNanos, long maxElapsedNanos) {
+        if (!started) {
+            started = true;
+            firstFrameNanos = frameTimeNanos;
+        }
+        if (resync) {
+            resync = false;
+            lastFrameNanos = frameTimeNanos;
+        }
+        frameDeltaNanos = Math.max(0, Math.min(frameTimeNanos - lastFrameNanos, maxElapsedNanos));
+        lastFrameNanos = frameTimeNanos;
+        realMillis = (frameTimeNanos - firstFrameNanos) / 1_000_000L;
+        return frameDeltaNanos / 1_000_000f * timeScale;
+    }
+
+    // Forget the last frame so a gap (paused, no surface) isn't simulated
+    public void resetFrame() {
+        resync = true;
+    }
+
+    public void step() {
+        simMillis += stepMs;
+    }
+
+    public void setAlpha(float alpha) {
+        this.alpha = alpha;
+    }
+
+    public void setTimeScale(float timeScale) {
+        this.timeScale = timeScale;
+    }
+
+    public float timeScale() {
+        return timeScale;
+    }
+
+    // Render interpolation factor between the last two simulation steps
+    public float alpha() {
+        return alpha;
+    }
+
+    // Simulation time in ms, for updates
+    public long now() {
+        return (long) simMillis;
+    }
+
+    // Simulation time interpolated to the frame being drawn, for animations
+    public long frameTime() {
+        return (long) (simMillis + alpha * stepMs);
+    }
+
+    // Unscaled length of the current frame
+    public long frameDeltaNanos() {
+        return frameDeltaNanos;
+    }
+
+    // Unscaled time since the first frame, in ms
+    public long realTime() {
+        return realMillis;
+    }
+}
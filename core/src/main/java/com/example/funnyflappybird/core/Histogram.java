@@ -0,0 +1,101 @@
+package com.example.funnyflappybird.core;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+// Fixed-memory histogram of non-negative longs (nanoseconds, in practice).
+// Each power of two is split into 8 linear buckets, so a percentile is
+// reported within 12.5% of the true value whatever the magnitude, and
+// recording is a couple of bit operations with no allocation.
+public class Histogram {
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int MAX_BITS = 40; // ~18 minutes in ns; anything longer lands in the last bucket
+
+    private final long[] counts = new long[(MAX_BITS - SUB_BITS + 2) * SUB_BUCKETS];
+    private long total;
+    private long sum;
+    private long max;
+
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts[bucket(value)]++;
+        total++;
+        sum += value;
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        total = 0;
+        sum = 0;
+        max = 0;
+    }
+
+    public long count() {
+        return total;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    public long mean() {
+        return total == 0 ? 0 : sum / total;
+    }
+
+    // Upper bound of the bucket holding the given percentile (0..100)
+    public long percentile(double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                // The last bucket also holds everything past its range
+                return i == counts.length - 1 ? max : Math.min(upperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    // One report line: name, then p50 p95 p99 max mean in microseconds
+    public void writeRow(Appendable out, String name) throws IOException {
+        out.append(name)
+                .append(' ').append(Long.toString(percentile(50) / 1000))
+                .append(' ').append(Long.toString(percentile(95) / 1000))
+                .append(' ').append(Long.toString(percentile(99) / 1000))
+                .append(' ').append(Long.toString(max / 1000))
+                .append(' ').append(Long.toString(mean() / 1000))
+                .append('\n');
+    }
+
+    private static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int bits = 63 - Long.numberOfLeadingZeros(value);
+        if (bits > MAX_BITS) {
+            return (MAX_BITS - SUB_BITS + 2) * SUB_BUCKETS - 1;
+        }
+        int shift = bits - SUB_BITS;
+        int sub = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + sub;
+    }
+
+    private static long upperBound(int bucket) {
+        int group = bucket / SUB_BUCKETS;
+        int sub = bucket % SUB_BUCKETS;
+        if (group == 0) {
+            return sub;
+        }
+        int shift = group - 1;
+        return ((long) (SUB_BUCKETS + sub + 1) << shift) - 1;
+    }
+}
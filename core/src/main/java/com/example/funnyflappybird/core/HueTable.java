@@ -0,0 +1,25 @@
+package com.example.funnyflappybird.core;
+
+// Every whole-degree hue at one saturation and value, computed up front so
+// the per-frame rainbow effects are an array lookup instead of an HSV
+// conversion (and, with Color.HSVToColor, a float[] allocation).
+public final class HueTable {
+    // Fully saturated and bright, the most common palette
+    public static final HueTable RAINBOW = new HueTable(1.0f, 1.0f);
+    // The bird's body, pipe caps and flap particles
+    public static final HueTable VIVID = new HueTable(0.8f, 1.0f);
+
+    private final int[] colors = new int[360];
+
+    public HueTable(float saturation, float value) {
+        for (int hue = 0; hue < colors.length; hue++) {
+            colors[hue] = Colors.hsv(hue, saturation, value);
+        }
+    }
+
+    // Hue in degrees, any range; the fraction is dropped
+    public int color(float hue) {
+        int i = (int) hue % 360;
+        return colors[i < 0 ? i + 360 : i];
+    }
+}
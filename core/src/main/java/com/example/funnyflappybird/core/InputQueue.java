@@ -0,0 +1,62 @@
+package com.example.funnyflappybird.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Lock-free single-producer/single-consumer ring of tap timestamps. The UI
+// thread offers, the game thread peeks and removes. Each side only writes
+// its own index, published with a release store, so neither ever blocks
+// and nothing is allocated per event. When the ring is full new taps are
+// dropped, which only happens if the game thread has stalled.
+public class InputQueue {
+    private final long[] times;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong(); // next slot to read; written by the consumer
+    private final AtomicLong tail = new AtomicLong(); // next slot to write; written by the producer
+    private int dropped;
+
+    // capacity must be a power of two
+    public InputQueue(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+        }
+        times = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    // Producer side
+    public boolean offer(long timeNanos) {
+        long t = tail.get();
+        if (t - head.get() == times.length) {
+            dropped++;
+            return false;
+        }
+        times[(int) t & mask] = timeNanos;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    // Producer side
+    public int droppedCount() {
+        return dropped;
+    }
+
+    // Consumer side
+    public boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+
+    // Consumer side; only valid when the queue isn't empty
+    public long peekTime() {
+        return times[(int) head.get() & mask];
+    }
+
+    // Consumer side
+    public void remove() {
+        head.lazySet(head.get() + 1);
+    }
+
+    // Consumer side: drop everything queued so far
+    public void clear() {
+        head.lazySet(tail.get());
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.funnyflappybird.core;
+
+import java.io.IOException;
+
+// Follows each tap from its input event, through the simulation step that
+// applies the flap, to the first frame post that shows it. All three
+// timestamps are on the monotonic clock, in ns. Completed traces feed
+// three histograms and a fixed ring of recent samples for export; nothing
+// is allocated per tap.
+//
+// applied() and takePending() belong to the simulation thread, the
+// presented() calls to the thread that posts frames. When those differ,
+// pending taps travel to the poster with the frame that shows them.
+public class LatencyTracer {
+    private static final int MAX_PENDING = 16;
+
+    // Taps applied but not yet on screen
+    private final long[] pendingEvent = new long[MAX_PENDING];
+    private final long[] pendingApplied = new long[MAX_PENDING];
+    private int pending;
+
+    // Most recent completed traces, oldest overwritten first
+    private final long[] sampleEvent;
+    private final long[] sampleApplied;
+    private final long[] samplePresented;
+    private long samples;
+
+    private final Histogram touchToApplied = new Histogram();
+    private final Histogram appliedToPresented = new Histogram();
+    private final Histogram touchToPresented = new Histogram();
+    private int dropped;
+
+    public LatencyTracer(int sampleCapacity) {
+        sampleEvent = new long[sampleCapacity];
+        sampleApplied = new long[sampleCapacity];
+        samplePresented = new long[sampleCapacity];
+    }
+
+    // A step has just applied the flap for the tap at eventNanos
+    public void applied(long eventNanos, long nowNanos) {
+        if (pending == MAX_PENDING) {
+            // Nothing has been presented for a long time; forget the oldest
+            System.arraycopy(pendingEvent, 1, pendingEvent, 0, MAX_PENDING - 1);
+            System.arraycopy(pendingApplied, 1, pendingApplied, 0, MAX_PENDING - 1);
+            pending--;
+            dropped++;
+        }
+        pendingEvent[pending] = eventNanos;
+        pendingApplied[pending] = nowNanos;
+        pending++;
+    }
+
+    // Moves pending taps into the arrays from offset on, as many as fit;
+    // returns the new end. Taps that don't fit are counted as dropped.
+    public int takePending(long[] events, long[] applied, int offset) {
+        int n = Math.min(pending, events.length - offset);
+        System.arraycopy(pendingEvent, 0, events, offset, n);
+        System.arraycopy(pendingApplied, 0, applied, offset, n);
+        dropped += pending - n;
+        pending = 0;
+        return offset + n;
+    }
+
+    // A frame has just been posted; it shows every flap applied before it
+    public void presented(long nowNanos) {
+        presented(pendingEvent, pendingApplied, pending, nowNanos);
+        pending = 0;
+    }
+
+    // A frame showing the given taps, taken with takePending(), was posted
+    public void presented(long[] events, long[] appliedTimes, int count, long nowNanos) {
+        for (int i = 0; i < count; i++) {
+            long event = events[i];
+            long applied = appliedTimes[i];
+            touchToApplied.record(applied - event);
+            appliedToPresented.record(nowNanos - applied);
+            touchToPresented.record(nowNanos - event);
+
+            int slot = (int) (samples % sampleEvent.length);
+            sampleEvent[slot] = event;
+            sampleApplied[slot] = applied;
+            samplePresented[slot] = nowNanos;
+            samples++;
+        }
+    }
+
+    public void reset() {
+        pending = 0;
+        samples = 0;
+        dropped = 0;
+        touchToApplied.reset();
+        appliedToPresented.reset();
+        touchToPresented.reset();
+    }
+
+    public Histogram touchToApplied() {
+        return touchToApplied;
+    }
+
+    public Histogram appliedToPresented() {
+        return appliedToPresented;
+    }
+
+    public Histogram touchToPresented() {
+        return touchToPresented;
+    }
+
+    public long traces() {
+        return samples;
+    }
+
+    public int droppedCount() {
+        return dropped;
+    }
+
+    // Summary table; times in microseconds
+    public void writeReport(Appendable out) throws IOException {
+        out.append("taps ").append(Long.toString(samples))
+                .append(" dropped ").append(Integer.toString(dropped)).append('\n');
+        out.append("latency p50_us p95_us p99_us max_us mean_us\n");
+        touchToApplied.writeRow(out, "touch->step");
+        appliedToPresented.writeRow(out, "step->post");
+        touchToPresented.writeRow(out, "touch->post");
+    }
+
+    // The retained samples as CSV, oldest first
+    public void writeTrace(Appendable out) throws IOException {
+        out.append("event_ns,applied_ns,presented_ns\n");
+        int capacity = sampleEvent.length;
+        long first = Math.max(0, samples - capacity);
+        for (long i = first; i < samples; i++) {
+            int slot = (int) (i % capacity);
+            out.append(Long.toString(sampleEvent[slot])).append(',')
+                    .append(Long.toString(sampleApplied[slot])).append(',')
+                    .append(Long.toString(samplePresented[slot])).append('\n');
+        }
+    }
+}
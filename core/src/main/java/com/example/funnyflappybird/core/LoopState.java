@@ -0,0 +1,64 @@
+package com.example.funnyflappybird.core;
+
+// Lifecycle of the game loop. The UI thread reports two facts, whether the
+// activity is resumed and whether there is a surface, and the game thread
+// starts producing frames once both hold. In every state but RUNNING the
+// loop has nothing scheduled.
+//
+// Setters return true when the loop has just become ready to start, which
+// is the caller's cue to wake the game thread.
+public class LoopState {
+    public static final int PAUSED = 0;        // activity not resumed
+    public static final int IDLE = 1;          // resumed, no surface yet
+    public static final int SURFACE_READY = 2; // resumed with a surface, game thread not started
+    public static final int RUNNING = 3;
+
+    private static final String[] NAMES = {"paused", "idle", "surface-ready", "running"};
+
+    private boolean resumed, surface;
+    private volatile int state = PAUSED;
+
+    public synchronized boolean setResumed(boolean resumed) {
+        this.resumed = resumed;
+        return update();
+    }
+
+    public synchronized boolean setSurface(boolean surface) {
+        this.surface = surface;
+        return update();
+    }
+
+    // Game thread: true if frames should start now. Only one caller wins
+    // per SURFACE_READY, so a stale wake-up can't start a second loop.
+    public synchronized boolean start() {
+        if (state != SURFACE_READY) {
+            return false;
+        }
+        state = RUNNING;
+        return true;
+    }
+
+    public int state() {
+        return state;
+    }
+
+    public boolean isRunning() {
+        return state == RUNNING;
+    }
+
+    public static String name(int state) {
+        return NAMES[state];
+    }
+
+    private boolean update() {
+        int previous = state;
+        if (!resumed) {
+            state = PAUSED;
+        } else if (!surface) {
+            state = IDLE;
+        } else if (previous != RUNNING) {
+            state = SURFACE_READY;
+        }
+        return state == SURFACE_READY && previous != SURFACE_READY;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.funnyflappybird.core;
+
+import java.util.Random;
+
+import static com.example.funnyflappybird.core.World.STEP;
+
+public class Obstacle {
+    public float x, y;
+    public float prevX, prevY;
+    public float speed;
+    public int type; // 0=spinning blade, 1=bouncing ball, 2=laser
+    public long animationTime;
+    public int screenX, screenY;
+
+    public void reset(int screenX, int screenY, Random random, GameClock clock) {
+        this.screenX = screenX;
+        this.screenY = screenY;
+        x = screenX + 50;
+        y = 100 + random.nextInt(screenY - 300);
+        type = random.nextInt(3);
+        savePosition();
+        animationTime = clock.now();
+    }
+
+    public void savePosition() {
+        prevX = x;
+        prevY = y;
+    }
+
+    public void update(float speed, GameClock clock) {
+        this.speed = speed;
+        x -= speed * 0.8f * STEP; // Slightly slower than pipes
+
+        // Type-specific movement
+        switch (type) {
+            case 1: // Bouncing ball
+                y += Trig.sin((clock.now() - animationTime) * 0.01) * 3 * STEP;
+                break;
+        }
+    }
+
+    public boolean collidesWith(Bird bird) {
+        return Collisions.withinDistance(x, y, bird.centerX(), bird.centerY(), 35);
+    }
+}
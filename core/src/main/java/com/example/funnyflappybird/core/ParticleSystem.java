@@ -0,0 +1,145 @@
+package com.example.funnyflappybird.core;
+
+// Fixed-capacity particle store kept as parallel primitive arrays.
+// Emitting never allocates: dead particles are swap-removed, and once the
+// limit is reached the oldest live particle is overwritten. The limit can
+// be lowered below the capacity at runtime; particles already above it are
+// left to die out on their own.
+//
+// Live slots are also queued in birth order so the oldest is found without
+// a scan. A particle that dies leaves a hole in the queue that is skipped
+// when the head reaches it; the queue has room for twice the capacity and
+// is compacted when its tail reaches the end, at most once per capacity
+// emits.
+public class ParticleSystem {
+    public final float[] x, y;
+    public final float[] velX, velY;
+    public final float[] life, maxLife;
+    public final float[] size;
+    public final int[] color;
+    public int count;
+
+    private final int[] order;      // slots from head to tail, oldest first; -1 once dead
+    private final int[] orderIndex; // each live slot's place in order
+    private int head, tail;
+    private int evicted;
+    private int limit;
+
+    public ParticleSystem(int capacity) {
+        x = new float[capacity];
+        y = new float[capacity];
+        velX = new float[capacity];
+        velY = new float[capacity];
+        life = new float[capacity];
+        maxLife = new float[capacity];
+        size = new float[capacity];
+        color = new int[capacity];
+        order = new int[capacity * 2];
+        orderIndex = new int[capacity];
+        limit = capacity;
+    }
+
+    public int capacity() {
+        return x.length;
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = Math.max(1, Math.min(limit, x.length));
+    }
+
+    public int evictedCount() {
+        return evicted;
+    }
+
+    public void emit(float px, float py, float angleDegrees, float speed, float particleSize, int particleColor, float lifeMs) {
+        int i;
+        if (count < limit) {
+            i = count++;
+        } else {
+            i = removeOldest();
+            evicted++;
+        }
+        if (tail == order.length) {
+            compact();
+        }
+        order[tail] = i;
+        orderIndex[i] = tail++;
+
+        x[i] = px;
+        y[i] = py;
+        velX[i] = Trig.cosDegrees(angleDegrees) * speed;
+        velY[i] = Trig.sinDegrees(angleDegrees) * speed;
+        life[i] = lifeMs;
+        maxLife[i] = lifeMs;
+        size[i] = particleSize;
+        color[i] = particleColor;
+    }
+
+    // step scales the per-frame motion, stepMs is taken off each life;
+    // drag and shrink are the per-step multipliers for velX and size.
+    public void update(float step, float stepMs, float gravity, float drag, float shrink) {
+        for (int i = count - 1; i >= 0; i--) {
+            x[i] += velX[i] * step;
+            y[i] += velY[i] * step;
+            velY[i] += gravity * step;
+            velX[i] *= drag;
+            life[i] -= stepMs;
+            size[i] *= shrink;
+
+            if (life[i] <= 0) {
+                remove(i);
+            }
+        }
+    }
+
+    public void clear() {
+        count = 0;
+        head = 0;
+        tail = 0;
+    }
+
+    private void remove(int i) {
+        order[orderIndex[i]] = -1;
+        int last = --count;
+        if (i == last) {
+            return;
+        }
+        x[i] = x[last];
+        y[i] = y[last];
+        velX[i] = velX[last];
+        velY[i] = velY[last];
+        life[i] = life[last];
+        maxLife[i] = maxLife[last];
+        size[i] = size[last];
+        color[i] = color[last];
+        order[orderIndex[last]] = i;
+        orderIndex[i] = orderIndex[last];
+    }
+
+    // Takes the oldest live slot off the queue; its particle is about to be
+    // overwritten
+    private int removeOldest() {
+        while (order[head] < 0) {
+            head++;
+        }
+        return order[head++];
+    }
+
+    // Slides the live entries to the front, dropping the holes
+    private void compact() {
+        int n = 0;
+        for (int k = head; k < tail; k++) {
+            int slot = order[k];
+            if (slot >= 0) {
+                order[n] = slot;
+                orderIndex[slot] = n++;
+            }
+        }
+        head = 0;
+        tail = n;
+    }
+}
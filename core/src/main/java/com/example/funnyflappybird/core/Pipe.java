@@ -0,0 +1,45 @@
+package com.example.funnyflappybird.core;
+
+import java.util.Random;
+
+import static com.example.funnyflappybird.core.World.STEP;
+
+public class Pipe {
+    public float x, prevX;
+    public float topHeight, bottomY;
+    public int width = 120;
+    public int gap = 300;
+    public float speed;
+    public boolean scored = false;
+    public int screenX, screenY;
+
+    public void reset(int screenX, int screenY, float speed, Random random) {
+        this.screenX = screenX;
+        this.screenY = screenY;
+        this.speed = speed;
+        scored = false;
+        x = screenX + width;
+        prevX = x;
+        topHeight = random.nextInt(screenY/2) + 50;
+        bottomY = topHeight + gap;
+    }
+
+    public void savePosition() {
+        prevX = x;
+    }
+
+    public void update(float newSpeed) {
+        this.speed = newSpeed;
+        x -= speed * STEP;
+    }
+
+    public boolean collidesWith(Bird bird) {
+        if (bird.hasShield) return false;
+
+        float left = bird.x, top = bird.y;
+        float right = bird.x + bird.width, bottom = bird.y + bird.height;
+
+        return Collisions.boxesOverlap(left, top, right, bottom, x, 0, x + width, topHeight)
+                || Collisions.boxesOverlap(left, top, right, bottom, x, bottomY, x + width, screenY);
+    }
+}
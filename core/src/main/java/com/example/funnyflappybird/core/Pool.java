@@ -0,0 +1,74 @@
+package com.example.funnyflappybird.core;
+
+import java.util.ArrayList;
+
+// Free-list pool for game entities. acquire() hands out a recycled object
+// when one is available and only creates a new one on a miss; callers are
+// expected to re-initialise the object in place before use.
+class Pool<T> {
+    interface Factory<T> {
+        T create();
+    }
+
+    private final String name;
+    private final Factory<T> factory;
+    private final ArrayList<T> free;
+
+    private int inUse;
+    private int highWater;
+    private int misses;
+
+    Pool(String name, int warmUp, Factory<T> factory) {
+        this.name = name;
+        this.factory = factory;
+        this.free = new ArrayList<>(warmUp);
+        for (int i = 0; i < warmUp; i++) {
+            free.add(factory.create());
+        }
+    }
+
+    T acquire() {
+        T item;
+        int available = free.size();
+        if (available > 0) {
+            item = free.remove(available - 1);
+        } else {
+            item = factory.create();
+            misses++;
+        }
+        inUse++;
+        if (inUse > highWater) {
+            highWater = inUse;
+        }
+        return item;
+    }
+
+    void release(T item) {
+        inUse--;
+        free.add(item);
+    }
+
+    // Largest number of objects that were ever out at once
+    int highWaterMark() {
+        return highWater;
+    }
+
+    // Number of acquires that had to allocate
+    int misses() {
+        return misses;
+    }
+
+    int inUse() {
+        return inUse;
+    }
+
+    int available() {
+        return free.size();
+    }
+
+    @Override
+    public String toString() {
+        return name + ": inUse=" + inUse + " free=" + free.size()
+                + " highWater=" + highWater + " misses=" + misses;
+    }
+}
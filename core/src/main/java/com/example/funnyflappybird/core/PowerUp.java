@@ -0,0 +1,44 @@
+package com.example.funnyflappybird.core;
+
+import java.util.Random;
+
+import static com.example.funnyflappybird.core.World.STEP;
+
+public class PowerUp {
+    public static final int SHIELD = 0;
+    public static final int BOOST = 1;
+    public static final int SLOW_TIME = 2;
+
+    public float x, y;
+    public float prevX, prevY;
+    public int type;
+    public float speed;
+    public int size = 40;
+    public long animationTime;
+    public boolean collected;
+
+    public void reset(int screenX, int screenY, Random random, GameClock clock) {
+        collected = false;
+        x = screenX + size;
+        y = 100 + random.nextInt(screenY - 300);
+        type = random.nextInt(3);
+        savePosition();
+        animationTime = clock.now();
+    }
+
+    public void savePosition() {
+        prevX = x;
+        prevY = y;
+    }
+
+    public void update(float speed, GameClock clock) {
+        this.speed = speed * 0.9f; // Slightly slower than pipes
+        x -= this.speed * STEP;
+        // Floating animation
+        y += Trig.sin((clock.now() - animationTime) * 0.006) * 3 * STEP;
+    }
+
+    public boolean collidesWith(Bird bird) {
+        return Collisions.circlesOverlap(x, y, size, bird.centerX(), bird.centerY(), bird.width / 2f);
+    }
+}
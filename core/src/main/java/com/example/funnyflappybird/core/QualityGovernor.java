@@ -0,0 +1,165 @@
+package com.example.funnyflappybird.core;
+
+import java.io.IOException;
+
+// Trades decoration for frame time. Frame times are judged in windows of
+// WINDOW frames: a window with too many frames over budget drops one tier
+// at once, while climbing back needs several calm windows in a row. An
+// upgrade that is promptly undone doubles the calm stretch the next one
+// needs, so a scene sitting on the edge of the budget settles instead of
+// flickering between tiers.
+//
+// Only decoration is scaled: particles, power-up sparkles, stars, waves and
+// text shadows. The bird, pipes, coins and obstacles always draw in full.
+// The two lowest tiers also render to a smaller buffer for the hardware
+// scaler to stretch, which cuts fill cost everywhere at a cost in
+// sharpness.
+//
+// record() is called by the thread that ends frames; the tier can be read
+// from any thread.
+public class QualityGovernor {
+    public static final int TIER_COUNT = 4;
+
+    private static final int[] PARTICLE_CAP = {400, 250, 150, 80};
+    private static final int[] SPARKLES = {8, 6, 4, 2};
+    private static final float[] STAR_DENSITY = {1f, 0.75f, 0.5f, 0f};
+    private static final float[] WAVE_DENSITY = {1f, 0.6f, 0.4f, 0f};
+    private static final boolean[] TEXT_SHADOWS = {true, true, false, false};
+    private static final float[] RENDER_SCALE = {1f, 1f, 0.85f, 0.7f};
+
+    static final int WINDOW = 30;
+    static final int SLOW_FRAMES = 3;        // over budget in a window to step down
+    static final float CALM_FRACTION = 0.7f; // every frame under this share of budget is calm
+    static final int CALM_WINDOWS = 4;       // calm windows in a row to step up
+    static final int MAX_CALM_WINDOWS = 64;
+
+    private long budgetNanos;
+    private volatile int tier;
+
+    // Current window
+    private int windowFrames;
+    private int slowFrames;
+    private boolean calm = true;
+
+    private int calmWindows;
+    private int calmWindowsNeeded = CALM_WINDOWS;
+    private int windowsSinceUpgrade = -1;
+
+    // Metrics
+    private final long[] tierFrames = new long[TIER_COUNT];
+    private int downgrades, upgrades;
+
+    public QualityGovernor(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+    }
+
+    public void setBudget(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+    }
+
+    public void record(long frameNanos) {
+        int current = tier;
+        tierFrames[current]++;
+        windowFrames++;
+        if (frameNanos > budgetNanos) {
+            slowFrames++;
+        }
+        if (frameNanos > budgetNanos * CALM_FRACTION) {
+            calm = false;
+        }
+        if (windowFrames < WINDOW) {
+            return;
+        }
+
+        if (windowsSinceUpgrade >= 0) {
+            windowsSinceUpgrade++;
+        }
+        if (slowFrames >= SLOW_FRAMES) {
+            calmWindows = 0;
+            if (current < TIER_COUNT - 1) {
+                // The last upgrade didn't hold; wait longer before the next one
+                if (windowsSinceUpgrade >= 0 && windowsSinceUpgrade <= CALM_WINDOWS) {
+                    calmWindowsNeeded = Math.min(calmWindowsNeeded * 2, MAX_CALM_WINDOWS);
+                }
+                windowsSinceUpgrade = -1;
+                tier = current + 1;
+                downgrades++;
+            }
+        } else if (calm && current > 0) {
+            if (++calmWindows >= calmWindowsNeeded) {
+                calmWindows = 0;
+                windowsSinceUpgrade = 0;
+                tier = current - 1;
+                upgrades++;
+            }
+        } else {
+            calmWindows = 0;
+        }
+
+        windowFrames = 0;
+        slowFrames = 0;
+        calm = true;
+    }
+
+    public void resetMetrics() {
+        for (int i = 0; i < TIER_COUNT; i++) {
+            tierFrames[i] = 0;
+        }
+        downgrades = 0;
+        upgrades = 0;
+    }
+
+    // 0 is full quality
+    public int tier() {
+        return tier;
+    }
+
+    public int particleCap() {
+        return PARTICLE_CAP[tier];
+    }
+
+    public int sparkles() {
+        return SPARKLES[tier];
+    }
+
+    // Share of the star field and wave rows to draw
+    public float starDensity() {
+        return STAR_DENSITY[tier];
+    }
+
+    public float waveDensity() {
+        return WAVE_DENSITY[tier];
+    }
+
+    public boolean textShadows() {
+        return TEXT_SHADOWS[tier];
+    }
+
+    // Surface size as a share of the view's, per axis
+    public float renderScale() {
+        return RENDER_SCALE[tier];
+    }
+
+    public int downgrades() {
+        return downgrades;
+    }
+
+    public int upgrades() {
+        return upgrades;
+    }
+
+    public long tierFrames(int tier) {
+        return tierFrames[tier];
+    }
+
+    public void writeReport(Appendable out) throws IOException {
+        out.append("quality tier ").append(Integer.toString(tier))
+                .append(" downgrades ").append(Integer.toString(downgrades))
+                .append(" upgrades ").append(Integer.toString(upgrades)).append('\n');
+        out.append("tier frames\n");
+        for (int i = 0; i < TIER_COUNT; i++) {
+            out.append(Integer.toString(i)).append(' ')
+                    .append(Long.toString(tierFrames[i])).append('\n');
+        }
+    }
+}
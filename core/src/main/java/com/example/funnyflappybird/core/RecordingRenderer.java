@@ -0,0 +1,331 @@
+package com.example.funnyflappybird.core;
+
+import java.util.Arrays;
+
+// Records draw calls into flat, reusable arrays instead of drawing them:
+// an opcode per command, its float and int operands in two parallel
+// streams, and text references in a third. Clearing keeps the arrays, so
+// recording a frame allocates nothing once they have grown to size.
+//
+// Off-device this makes a frame measurable: per-op counts, the save depth
+// (an unbalanced save leaks its transform into later draws, and a restore
+// without a save throws, as Canvas does), and replay into any other
+// Renderer.
+public class RecordingRenderer implements Renderer {
+    public static final int SAVE = 0;
+    public static final int RESTORE = 1;
+    public static final int TRANSLATE = 2;
+    public static final int ROTATE = 3;
+    public static final int SCALE = 4;
+    public static final int RECT = 5;
+    public static final int CIRCLE = 6;
+    public static final int OVAL = 7;
+    public static final int ROUND_RECT = 8;
+    public static final int STROKE_ROUND_RECT = 9;
+    public static final int TEXT = 10;
+    public static final int IMAGE = 11;
+    public static final int CIRCLES = 12;
+    public static final int SPRITE = 13;
+    public static final int OP_COUNT = 14;
+
+    private static final String[] OP_NAMES = {
+            "save", "restore", "translate", "rotate", "scale", "rect",
+            "circle", "oval", "roundRect", "strokeRoundRect", "text", "image", "circles",
+            "sprite"
+    };
+
+    private int[] ops = new int[256];
+    private float[] floats = new float[1024];
+    private int[] ints = new int[256];
+    private String[] texts = new String[32];
+    private int opCount, floatCount, intCount, textCount;
+
+    private final int[] counts = new int[OP_COUNT];
+    private int batched;
+    private int depth;
+    private int maxDepth;
+
+    public void clear() {
+        opCount = 0;
+        floatCount = 0;
+        intCount = 0;
+        Arrays.fill(texts, 0, textCount, null);
+        textCount = 0;
+        Arrays.fill(counts, 0);
+        batched = 0;
+        depth = 0;
+        maxDepth = 0;
+    }
+
+    public int size() {
+        return opCount;
+    }
+
+    public int op(int index) {
+        return ops[index];
+    }
+
+    public int count(int op) {
+        return counts[op];
+    }
+
+    // Commands that put pixels on screen, as opposed to transform bookkeeping
+    public int drawCount() {
+        int draws = 0;
+        for (int op = RECT; op < OP_COUNT; op++) {
+            draws += counts[op];
+        }
+        return draws;
+    }
+
+    // Circles submitted through circles(), each batch being one draw
+    public int batchedCircles() {
+        return batched;
+    }
+
+    // Saves not yet restored; non-zero at the end of a frame is a leak
+    public int depth() {
+        return depth;
+    }
+
+    public int maxDepth() {
+        return maxDepth;
+    }
+
+    public static String opName(int op) {
+        return OP_NAMES[op];
+    }
+
+    // Issue the recorded commands, in order, to another renderer
+    public void replay(Renderer target) {
+        int f = 0, n = 0, t = 0;
+        for (int i = 0; i < opCount; i++) {
+            switch (ops[i]) {
+                case SAVE:
+                    target.save();
+                    break;
+                case RESTORE:
+                    target.restore();
+                    break;
+                case TRANSLATE:
+                    target.translate(floats[f], floats[f + 1]);
+                    f += 2;
+                    break;
+                case ROTATE:
+                    target.rotate(floats[f], floats[f + 1], floats[f + 2]);
+                    f += 3;
+                    break;
+                case SCALE:
+                    target.scale(floats[f], floats[f + 1], floats[f + 2], floats[f + 3]);
+                    f += 4;
+                    break;
+                case RECT:
+                    target.rect(floats[f], floats[f + 1], floats[f + 2], floats[f + 3], ints[n++]);
+                    f += 4;
+                    break;
+                case CIRCLE:
+                    target.circle(floats[f], floats[f + 1], floats[f + 2], ints[n++]);
+                    f += 3;
+                    break;
+                case OVAL:
+                    target.oval(floats[f], floats[f + 1], floats[f + 2], floats[f + 3], ints[n++]);
+                    f += 4;
+                    break;
+                case ROUND_RECT:
+                    target.roundRect(floats[f], floats[f + 1], floats[f + 2], floats[f + 3], floats[f + 4], ints[n++]);
+                    f += 5;
+                    break;
+                case STROKE_ROUND_RECT:
+                    target.strokeRoundRect(floats[f], floats[f + 1], floats[f + 2], floats[f + 3],
+                            floats[f + 4], floats[f + 5], ints[n++]);
+                    f += 6;
+                    break;
+                case TEXT:
+                    target.text(texts[t++], floats[f], floats[f + 1], floats[f + 2], ints[n++]);
+                    f += 3;
+                    break;
+                case IMAGE:
+                    target.image(ints[n], floats[f], floats[f + 1], ints[n + 1]);
+                    f += 2;
+                    n += 2;
+                    break;
+                case CIRCLES:
+                    int count = ints[n++];
+                    target.circles(floats, f, ints, n, count);
+                    f += count * 3;
+                    n += count;
+                    break;
+                case SPRITE:
+                    target.sprite(ints[n++], floats[f], floats[f + 1], floats[f + 2], floats[f + 3], floats[f + 4]);
+                    f += 5;
+                    break;
+            }
+        }
+    }
+
+    @Override
+    public void save() {
+        record(SAVE);
+        depth++;
+        maxDepth = Math.max(maxDepth, depth);
+    }
+
+    @Override
+    public void restore() {
+        if (depth == 0) {
+            throw new IllegalStateException("restore without a matching save");
+        }
+        record(RESTORE);
+        depth--;
+    }
+
+    @Override
+    public void translate(float dx, float dy) {
+        record(TRANSLATE);
+        floats(2);
+        floats[floatCount++] = dx;
+        floats[floatCount++] = dy;
+    }
+
+    @Override
+    public void rotate(float degrees, float px, float py) {
+        record(ROTATE);
+        floats(3);
+        floats[floatCount++] = degrees;
+        floats[floatCount++] = px;
+        floats[floatCount++] = py;
+    }
+
+    @Override
+    public void scale(float sx, float sy, float px, float py) {
+        record(SCALE);
+        bounds(sx, sy, px, py);
+    }
+
+    @Override
+    public void rect(float left, float top, float right, float bottom, int color) {
+        record(RECT);
+        bounds(left, top, right, bottom);
+        color(color);
+    }
+
+    @Override
+    public void circle(float cx, float cy, float radius, int color) {
+        record(CIRCLE);
+        floats(3);
+        floats[floatCount++] = cx;
+        floats[floatCount++] = cy;
+        floats[floatCount++] = radius;
+        color(color);
+    }
+
+    @Override
+    public void circles(float[] xyr, int xyrOffset, int[] colors, int colorOffset, int count) {
+        record(CIRCLES);
+        floats(count * 3);
+        System.arraycopy(xyr, xyrOffset, floats, floatCount, count * 3);
+        floatCount += count * 3;
+        ints(count + 1);
+        ints[intCount++] = count;
+        System.arraycopy(colors, colorOffset, ints, intCount, count);
+        intCount += count;
+        batched += count;
+    }
+
+    @Override
+    public void oval(float left, float top, float right, float bottom, int color) {
+        record(OVAL);
+        bounds(left, top, right, bottom);
+        color(color);
+    }
+
+    @Override
+    public void roundRect(float left, float top, float right, float bottom, float radius, int color) {
+        record(ROUND_RECT);
+        bounds(left, top, right, bottom);
+        floats(1);
+        floats[floatCount++] = radius;
+        color(color);
+    }
+
+    @Override
+    public void strokeRoundRect(float left, float top, float right, float bottom, float radius, float strokeWidth, int color) {
+        record(STROKE_ROUND_RECT);
+        bounds(left, top, right, bottom);
+        floats(2);
+        floats[floatCount++] = radius;
+        floats[floatCount++] = strokeWidth;
+        color(color);
+    }
+
+    @Override
+    public void text(String text, float x, float y, float size, int color) {
+        record(TEXT);
+        if (textCount == texts.length) {
+            texts = Arrays.copyOf(texts, textCount * 2);
+        }
+        texts[textCount++] = text;
+        floats(3);
+        floats[floatCount++] = x;
+        floats[floatCount++] = y;
+        floats[floatCount++] = size;
+        color(color);
+    }
+
+    @Override
+    public void image(int image, float x, float y, int alpha) {
+        record(IMAGE);
+        floats(2);
+        floats[floatCount++] = x;
+        floats[floatCount++] = y;
+        ints(2);
+        ints[intCount++] = image;
+        ints[intCount++] = alpha;
+    }
+
+    @Override
+    public void sprite(int sprite, float x, float y, float degrees, float scale, float hue) {
+        record(SPRITE);
+        floats(5);
+        floats[floatCount++] = x;
+        floats[floatCount++] = y;
+        floats[floatCount++] = degrees;
+        floats[floatCount++] = scale;
+        floats[floatCount++] = hue;
+        ints(1);
+        ints[intCount++] = sprite;
+    }
+
+    private void record(int op) {
+        if (opCount == ops.length) {
+            ops = Arrays.copyOf(ops, opCount * 2);
+        }
+        ops[opCount++] = op;
+        counts[op]++;
+    }
+
+    private void bounds(float a, float b, float c, float d) {
+        floats(4);
+        floats[floatCount++] = a;
+        floats[floatCount++] = b;
+        floats[floatCount++] = c;
+        floats[floatCount++] = d;
+    }
+
+    private void color(int color) {
+        ints(1);
+        ints[intCount++] = color;
+    }
+
+    private void floats(int needed) {
+        if (floatCount + needed > floats.length) {
+            floats = Arrays.copyOf(floats, Math.max(floatCount + needed, floats.length * 2));
+        }
+    }
+
+    private void ints(int needed) {
+        if (intCount + needed > ints.length) {
+            ints = Arrays.copyOf(ints, Math.max(intCount + needed, ints.length * 2));
+        }
+    }
+}
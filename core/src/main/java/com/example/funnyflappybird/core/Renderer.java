@@ -0,0 +1,41 @@
+package com.example.funnyflappybird.core;
+
+// The drawing surface the entities paint on. Every call carries its full
+// style, with the color's alpha included, so nothing set by one draw can
+// leak into the next. Transforms nest with save/restore as on a Canvas.
+public interface Renderer {
+    void save();
+
+    void restore();
+
+    void translate(float dx, float dy);
+
+    void rotate(float degrees, float px, float py);
+
+    void scale(float sx, float sy, float px, float py);
+
+    void rect(float left, float top, float right, float bottom, int color);
+
+    void circle(float cx, float cy, float radius, int color);
+
+    // count filled circles in one call, drawn in order; xyr holds x, y and
+    // radius for each from xyrOffset, colors one color each from
+    // colorOffset. For particles and other many-small-circle effects.
+    void circles(float[] xyr, int xyrOffset, int[] colors, int colorOffset, int count);
+
+    void oval(float left, float top, float right, float bottom, int color);
+
+    void roundRect(float left, float top, float right, float bottom, float radius, int color);
+
+    void strokeRoundRect(float left, float top, float right, float bottom, float radius, float strokeWidth, int color);
+
+    // Bold, centered on x, baseline at y
+    void text(String text, float x, float y, float size, int color);
+
+    // An image the backend knows by id, top-left at x, y
+    void image(int image, float x, float y, int alpha);
+
+    // A sprite from Sprites with its anchor at x, y, rotated by degrees and
+    // scaled about the anchor, hue-cycled parts at hue
+    void sprite(int sprite, float x, float y, float degrees, float scale, float hue);
+}
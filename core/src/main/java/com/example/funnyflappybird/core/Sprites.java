@@ -0,0 +1,190 @@
+package com.example.funnyflappybird.core;
+
+// Entity shapes that only ever change by a transform and a hue shift, as
+// numbered sprites. Each is drawn around its anchor at the origin, so a
+// backend can replay the shapes under a transform or bake them once into
+// an atlas and blit them. Hue-cycled parts are drawn at the given hue;
+// baked at hue 0, a hue rotation of the blit stands in for the cycle.
+//
+// The bird is two sprites over the same anchor. Its body carries the
+// hue-cycled layers, one sprite per wing offset quantized to whole pixels.
+// Its face, one per expression, holds the eyes and the always-orange beak
+// and is drawn over the body at hue 0, so the rotation never reaches it.
+public final class Sprites {
+    public static final int BIRD_WIDTH = 60, BIRD_HEIGHT = 45;
+    public static final int POWER_UP_SIZE = 40;
+    public static final int EXPRESSIONS = 4;
+    public static final int WING_FRAMES = 11;  // wing offsets -5 to 5
+
+    public static final int BIRD = 0;          // + wing frame
+    public static final int BIRD_FACE = BIRD + WING_FRAMES; // + expression
+    public static final int COIN = BIRD_FACE + EXPRESSIONS;
+    public static final int BLADE = COIN + 1;
+    public static final int BALL = BLADE + 1;
+    public static final int LASER = BALL + 1;
+    public static final int POWER_UP = LASER + 1; // + PowerUp type
+    public static final int COUNT = POWER_UP + 3;
+
+    private static final HueTable DETAIL_HUES = new HueTable(0.9f, 0.9f);
+    private static final HueTable WING_HUES = new HueTable(0.7f, 0.8f);
+    private static final int BEAK = 0xFFFF8C00;
+    private static final int GOLD = 0xFFFFD700;
+
+    // Half extents around the anchor, with a pixel to spare for
+    // antialiasing, and the largest scale each is drawn at
+    private static final float[] HALF_WIDTH = new float[COUNT];
+    private static final float[] HALF_HEIGHT = new float[COUNT];
+    private static final float[] MAX_SCALE = new float[COUNT];
+
+    static {
+        for (int i = 0; i < COUNT; i++) {
+            MAX_SCALE[i] = 1f;
+        }
+        for (int i = BIRD; i < BIRD_FACE; i++) {
+            extent(i, BIRD_WIDTH / 2f + 1, BIRD_HEIGHT / 2f + 1);
+        }
+        for (int i = BIRD_FACE; i < COIN; i++) {
+            // The beak reaches 15 px past the body's right edge
+            extent(i, BIRD_WIDTH / 2f + 16, BIRD_HEIGHT / 2f + 1);
+        }
+        extent(COIN, 26, 26);
+        MAX_SCALE[COIN] = 1.2f;
+        extent(BLADE, 31, 31);
+        extent(BALL, 26, 26);
+        extent(LASER, 11, 51);
+        for (int i = POWER_UP; i < COUNT; i++) {
+            extent(i, POWER_UP_SIZE + 1, POWER_UP_SIZE + 1);
+            MAX_SCALE[i] = 1.3f;
+        }
+    }
+
+    private Sprites() {
+    }
+
+    private static void extent(int sprite, float halfWidth, float halfHeight) {
+        HALF_WIDTH[sprite] = halfWidth;
+        HALF_HEIGHT[sprite] = halfHeight;
+    }
+
+    public static int bird(float wingOffset) {
+        int frame = Math.round(wingOffset) + WING_FRAMES / 2;
+        frame = Math.max(0, Math.min(frame, WING_FRAMES - 1));
+        return BIRD + frame;
+    }
+
+    public static int birdFace(int expression) {
+        return BIRD_FACE + expression;
+    }
+
+    public static float halfWidth(int sprite) {
+        return HALF_WIDTH[sprite];
+    }
+
+    public static float halfHeight(int sprite) {
+        return HALF_HEIGHT[sprite];
+    }
+
+    // Baking at this scale keeps the sprite from being magnified on screen
+    public static float maxScale(int sprite) {
+        return MAX_SCALE[sprite];
+    }
+
+    public static void draw(Renderer r, int sprite, float hue) {
+        if (sprite < BIRD_FACE) {
+            drawBirdBody(r, sprite - BIRD - WING_FRAMES / 2, hue);
+            return;
+        }
+        if (sprite < COIN) {
+            drawBirdFace(r, sprite - BIRD_FACE);
+            return;
+        }
+        switch (sprite) {
+            case COIN:
+                // Gold coin with shine effect
+                r.circle(0, 0, 25, GOLD);
+                r.circle(0, 0, 20, Colors.YELLOW);
+                r.circle(0, 0, 15, GOLD);
+                r.circle(-8, -8, 8, Colors.withAlpha(Colors.WHITE, 150));
+                break;
+            case BLADE:
+                r.save();
+                for (int i = 0; i < 4; i++) {
+                    r.rotate(90, 0, 0);
+                    r.rect(-30, -5, 30, 5, Colors.RED);
+                }
+                r.restore();
+                break;
+            case BALL:
+                r.circle(0, 0, 25, HueTable.RAINBOW.color(hue));
+                r.circle(-8, -8, 8, Colors.WHITE);
+                break;
+            case LASER:
+                r.rect(-10, -50, 10, 50, Colors.withAlpha(Colors.RED, 200));
+                r.rect(-5, -50, 5, 50, Colors.YELLOW);
+                break;
+            case POWER_UP + PowerUp.SHIELD:
+                drawRings(r, Colors.CYAN, 0.7f, Colors.WHITE, 0.4f, Colors.BLUE);
+                break;
+            case POWER_UP + PowerUp.BOOST:
+                drawRings(r, Colors.RED, 0.6f, Colors.YELLOW, 0.3f, Colors.WHITE);
+                break;
+            case POWER_UP + PowerUp.SLOW_TIME:
+                drawRings(r, Colors.MAGENTA, 0.5f, Colors.WHITE, 0.2f, Colors.BLACK);
+                break;
+        }
+    }
+
+    private static void drawBirdBody(Renderer r, float wingOffset, float hue) {
+        float x = -BIRD_WIDTH / 2f, y = -BIRD_HEIGHT / 2f;
+        int width = BIRD_WIDTH, height = BIRD_HEIGHT;
+
+        // Colorful bird body with gradient effect
+        r.oval(x, y, x + width, y + height, HueTable.VIVID.color(hue));
+
+        // Bird details with complementary colors
+        r.oval(x + 5, y + 5, x + width - 5, y + height - 5, DETAIL_HUES.color(hue + 60));
+
+        // Wing animation with color
+        r.oval(x + 10, y + 10 + wingOffset, x + width - 15, y + height - 10 + wingOffset,
+                WING_HUES.color(hue + 120));
+    }
+
+    private static void drawBirdFace(Renderer r, int expression) {
+        float x = -BIRD_WIDTH / 2f, y = -BIRD_HEIGHT / 2f;
+        int width = BIRD_WIDTH, height = BIRD_HEIGHT;
+
+        // Eyes
+        r.circle(x + width * 0.6f, y + height * 0.3f, 8, Colors.WHITE);
+        r.circle(x + width * 0.8f, y + height * 0.3f, 8, Colors.WHITE);
+
+        // Eye pupils based on expression
+        switch (expression) {
+            case 0: // Normal
+                r.circle(x + width * 0.65f, y + height * 0.3f, 4, Colors.BLACK);
+                r.circle(x + width * 0.85f, y + height * 0.3f, 4, Colors.BLACK);
+                break;
+            case 1: // Happy
+                r.circle(x + width * 0.62f, y + height * 0.25f, 3, Colors.BLACK);
+                r.circle(x + width * 0.82f, y + height * 0.25f, 3, Colors.BLACK);
+                break;
+            case 2: // Surprised
+                r.circle(x + width * 0.6f, y + height * 0.3f, 6, Colors.BLACK);
+                r.circle(x + width * 0.8f, y + height * 0.3f, 6, Colors.BLACK);
+                break;
+            case 3: // Angry
+                r.circle(x + width * 0.68f, y + height * 0.35f, 4, Colors.BLACK);
+                r.circle(x + width * 0.88f, y + height * 0.35f, 4, Colors.BLACK);
+                break;
+        }
+
+        // Colorful beak
+        r.circle(x + width + 7, y + height * 0.5f, 8, BEAK);
+    }
+
+    // Three concentric circles at POWER_UP_SIZE and the given fractions of it
+    private static void drawRings(Renderer r, int outer, float middleSize, int middle, float innerSize, int inner) {
+        r.circle(0, 0, POWER_UP_SIZE, outer);
+        r.circle(0, 0, POWER_UP_SIZE * middleSize, middle);
+        r.circle(0, 0, POWER_UP_SIZE * innerSize, inner);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.funnyflappybird.core;
+
+// A reusable, growable char buffer for text that changes every few frames.
+// Numbers are formatted by hand so that rebuilding a label allocates
+// nothing once the buffer has reached its working size; draw it with
+// Canvas.drawText(char[], int, int, ...).
+public final class TextBuffer {
+    private char[] chars;
+    private int length;
+
+    public TextBuffer(int capacity) {
+        chars = new char[capacity];
+    }
+
+    public TextBuffer clear() {
+        length = 0;
+        return this;
+    }
+
+    public TextBuffer append(String text) {
+        int n = text.length();
+        ensureCapacity(length + n);
+        text.getChars(0, n, chars, length);
+        length += n;
+        return this;
+    }
+
+    public TextBuffer append(char c) {
+        ensureCapacity(length + 1);
+        chars[length++] = c;
+        return this;
+    }
+
+    public TextBuffer append(long value) {
+        if (value < 0) {
+            append('-');
+            if (value == Long.MIN_VALUE) {
+                return append("9223372036854775808");
+            }
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value / 10; v > 0; v /= 10) {
+            digits++;
+        }
+        ensureCapacity(length + digits);
+        for (int i = length + digits - 1; i >= length; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        length += digits;
+        return this;
+    }
+
+    // Fixed-point like String.format("%.Nf"), rounding half away from zero
+    public TextBuffer append(float value, int decimals) {
+        long scale = 1;
+        for (int i = 0; i < decimals; i++) {
+            scale *= 10;
+        }
+        long scaled = Math.round(Math.abs((double) value) * scale);
+        if (value < 0 && scaled != 0) {
+            append('-');
+        }
+        append(scaled / scale);
+        if (decimals > 0) {
+            append('.');
+            long fraction = scaled % scale;
+            for (long s = scale / 10; s > 0; s /= 10) {
+                append((char) ('0' + fraction / s % 10));
+            }
+        }
+        return this;
+    }
+
+    public char[] chars() {
+        return chars;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return new String(chars, 0, length);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > chars.length) {
+            char[] grown = new char[Math.max(capacity, chars.length * 2)];
+            System.arraycopy(chars, 0, grown, 0, length);
+            chars = grown;
+        }
+    }
+}
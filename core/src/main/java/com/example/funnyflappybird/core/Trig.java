@@ -0,0 +1,47 @@
+package com.example.funnyflappybird.core;
+
+// Table-driven sin and cos for animation and effects. One period is
+// sampled at a fixed resolution and interpolated linearly, which is
+// accurate to about 3e-7: invisible on screen and well inside what the
+// simulation's float positions can hold.
+public final class Trig {
+    private static final int SIZE = 4096; // samples per period, a power of two
+    private static final int MASK = SIZE - 1;
+    private static final double PER_RADIAN = SIZE / (2 * Math.PI);
+    private static final double PER_DEGREE = SIZE / 360.0;
+
+    // One extra sample so interpolation never wraps
+    private static final float[] SIN = new float[SIZE + 1];
+
+    static {
+        for (int i = 0; i <= SIZE; i++) {
+            SIN[i] = (float) Math.sin(i / PER_RADIAN);
+        }
+    }
+
+    private Trig() {
+    }
+
+    public static float sin(double radians) {
+        return lookup(radians * PER_RADIAN);
+    }
+
+    public static float cos(double radians) {
+        return lookup(radians * PER_RADIAN + SIZE / 4);
+    }
+
+    public static float sinDegrees(double degrees) {
+        return lookup(degrees * PER_DEGREE);
+    }
+
+    public static float cosDegrees(double degrees) {
+        return lookup(degrees * PER_DEGREE + SIZE / 4);
+    }
+
+    private static float lookup(double index) {
+        double floor = Math.floor(index);
+        int i = (int) ((long) floor & MASK);
+        float fraction = (float) (index - floor);
+        return SIN[i] + (SIN[i + 1] - SIN[i]) * fraction;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.funnyflappybird.core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Lock-free handoff of preallocated frames from one producer thread to one
+// consumer thread. The producer fills back() and publishes it; the consumer
+// acquires the newest published frame. Three slots mean neither side ever
+// waits for the other: the producer always has a slot to fill, the
+// consumer keeps its slot until it asks for the next, and the one in the
+// middle is swapped atomically. The swap also orders the producer's writes
+// before the consumer's reads.
+public class TripleBuffer<T> {
+    private static final int INDEX = 3;
+    private static final int FRESH = 4; // the middle slot hasn't been acquired yet
+
+    private final Object[] slots = new Object[3];
+    private final AtomicInteger middle = new AtomicInteger(2);
+    private int back = 0;  // producer's
+    private int front = 1; // consumer's
+
+    public TripleBuffer(Supplier<T> factory) {
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = factory.get();
+        }
+    }
+
+    // Producer: the slot to fill next
+    @SuppressWarnings("unchecked")
+    public T back() {
+        return (T) slots[back];
+    }
+
+    // Producer: make back() the newest frame. Returns true if that replaced
+    // a frame the consumer never acquired, which is then the new back().
+    public boolean publish() {
+        int old = middle.getAndSet(back | FRESH);
+        back = old & INDEX;
+        return (old & FRESH) != 0;
+    }
+
+    // Consumer: the newest published frame, or null if nothing was
+    // published since the last call. The frame stays valid until the next
+    // successful acquire.
+    @SuppressWarnings("unchecked")
+    public T acquire() {
+        if ((middle.get() & FRESH) == 0) {
+            return null;
+        }
+        front = middle.getAndSet(front) & INDEX;
+        return (T) slots[front];
+    }
+}
@@ -0,0 +1,670 @@
+package com.example.funnyflappybird.core;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+// The whole game simulation: entity state, fixed-step update, spawning,
+// scoring and collisions. Nothing here touches android.*, so the same
+// code runs under GameView and headless on a plain JVM. Renderers only
+// read the public state. Taps from other threads go through the input
+// queue and are applied on the simulation thread at the step they fall in.
+public class World {
+
+    // Fixed simulation rate. Per-tick physics constants were tuned against a
+    // 16 ms frame, so every step scales them by STEP (= STEP_MS / 16).
+    public static final int SIM_HZ = 120;
+    public static final float STEP_MS = 1000f / SIM_HZ;
+    public static final float STEP = STEP_MS / 16f;
+    public static final long MAX_FRAME_NANOS = 250_000_000L; // avoid the spiral of death after a stall
+    static final float PARTICLE_DRAG = (float) Math.pow(0.99, STEP);
+    static final float PARTICLE_SHRINK = (float) Math.pow(0.985, STEP);
+    static final int MAX_PARTICLES = 400; // oldest particles are evicted beyond this
+    static final float SLOW_TIME_SCALE = 0.5f;
+
+    // Screen dimensions
+    public int screenX, screenY;
+
+    // Bird properties
+    public final Bird bird;
+
+    // Pipes and obstacles
+    public final ArrayList<Pipe> pipes = new ArrayList<>();
+    public final ArrayList<Obstacle> obstacles = new ArrayList<>();
+    public final ArrayList<Coin> coins = new ArrayList<>();
+
+    // Game state
+    public boolean gameOver = false;
+    public int score = 0;
+    public int highScore = 0;
+    public int coins_collected = 0;
+    public int level = 1;
+
+    // Progressive difficulty
+    public float baseSpeed = 6f;
+    public float currentSpeed = 6f;
+    public float speedIncrement = 0.5f;
+    public long levelUpTime = 0;
+
+    // Funny features
+    public final ArrayList<FunnyEffect> funnyEffects = new ArrayList<>();
+    public final ArrayList<ChatBubble> chatBubbles = new ArrayList<>();
+    private static final String[] FUNNY_MESSAGES = {
+            "OOPS! 😅", "Nice try! 😂", "Almost there! 🤣",
+            "Keep going! 💪", "You're flying! 🚀", "Super bird! 🦸",
+            "Fantastic! ✨", "Amazing! 🌟", "Epic fail! 😜",
+            "Don't give up! 💖", "You got this! 🔥", "Flying high! 🎈"
+    };
+    private static final String[] LEVEL_UP_MESSAGES = {
+            "LEVEL UP! 🎉", "Getting faster! 🏃", "Speed boost! ⚡",
+            "Challenge accepted! 🎯", "Next level! 🆙", "Difficulty rising! 📈"
+    };
+
+    // Particles and effects
+    public final ParticleSystem particles = new ParticleSystem(MAX_PARTICLES);
+    public final ArrayList<PowerUp> powerUps = new ArrayList<>();
+    public final ArrayList<Emoji> flyingEmojis = new ArrayList<>();
+
+    // Entity pools; steady-state play allocates nothing once these are warm
+    private final Pool<Pipe> pipePool = new Pool<>("pipes", 6, Pipe::new);
+    private final Pool<Coin> coinPool = new Pool<>("coins", 4, Coin::new);
+    private final Pool<Obstacle> obstaclePool = new Pool<>("obstacles", 4, Obstacle::new);
+    private final Pool<PowerUp> powerUpPool = new Pool<>("powerUps", 4, PowerUp::new);
+    private final Pool<Emoji> emojiPool = new Pool<>("emojis", 4, Emoji::new);
+    private final Pool<FunnyEffect> funnyEffectPool = new Pool<>("funnyEffects", 8, FunnyEffect::new);
+    private final Pool<ChatBubble> chatBubblePool = new Pool<>("chatBubbles", 8, ChatBubble::new);
+
+    // Collision broadphase and the kinds it tags collidables with
+    private static final int HIT_PIPE = 0;
+    private static final int HIT_COIN = 1;
+    private static final int HIT_OBSTACLE = 2;
+    private static final int HIT_POWER_UP = 3;
+    private final Broadphase broadphase = new Broadphase();
+
+    // Timing
+    public final GameClock clock = new GameClock(STEP_MS);
+    private float accumulator = 0;
+    private long frameTimeNanos;
+    private long lastCoinTime = 0;
+
+    // Timed color modes
+    public boolean rainbowMode = false;
+    public long rainbowTime = 0;
+    public boolean discoMode = false;
+    public long discoTime = 0;
+
+    // Distance the world has scrolled, for the ground texture
+    public double distance = 0;
+
+    // Screen shake effect
+    public float shakeOffset = 0;
+    public long shakeTime = 0;
+
+    // Timestamped taps from the UI thread, on the same time base as frame()
+    public final InputQueue input = new InputQueue(64);
+    public final LatencyTracer latency = new LatencyTracer(512);
+
+    private final Random random;
+
+    public World(int screenX, int screenY, Random random) {
+        this.screenX = screenX;
+        this.screenY = screenY;
+        this.random = random;
+        bird = new Bird(screenX, screenY, random);
+
+        // Start the first pipe
+        spawnPipe();
+    }
+
+    // The screen changed size, as on rotation or in split screen. Entities
+    // in play keep their positions and later ones spawn against the new
+    // edges; a bird the screen shrank under is put back in the middle.
+    public void setSize(int screenX, int screenY) {
+        this.screenX = screenX;
+        this.screenY = screenY;
+        bird.screenX = screenX;
+        bird.screenY = screenY;
+        if (bird.y > screenY - 100 - bird.height) {
+            bird.y = screenY / 2f;
+            bird.prevY = bird.y;
+        }
+        for (int i = 0; i < pipes.size(); i++) {
+            pipes.get(i).screenX = screenX;
+            pipes.get(i).screenY = screenY;
+        }
+        for (int i = 0; i < coins.size(); i++) {
+            coins.get(i).screenX = screenX;
+            coins.get(i).screenY = screenY;
+        }
+        for (int i = 0; i < obstacles.size(); i++) {
+            obstacles.get(i).screenX = screenX;
+            obstacles.get(i).screenY = screenY;
+        }
+    }
+
+    // Forget the last frame so a gap (paused, no surface) isn't simulated;
+    // taps from before the gap are stale too
+    public void resetFrame() {
+        clock.resetFrame();
+        accumulator = 0;
+        input.clear();
+    }
+
+    // Runs however many fixed steps the frame covers and leaves the clock's
+    // alpha between the last two states for rendering
+    public void frame(long frameTimeNanos) {
+        // Sample time once for the whole frame; SLOW_TIME scales everything downstream
+        clock.setTimeScale(bird.hasSlowTime ? SLOW_TIME_SCALE : 1f);
+        accumulator += clock.beginFrame(frameTimeNanos, MAX_FRAME_NANOS);
+        this.frameTimeNanos = frameTimeNanos;
+
+        // Run the simulation in fixed steps, however long the last frame took.
+        // The state lags the frame time by the accumulator, so each step
+        // ends (accumulator - STEP_MS) of scaled time before it.
+        float nanosPerMs = 1_000_000f / clock.timeScale();
+        while (accumulator >= STEP_MS) {
+            step(frameTimeNanos - (long) ((accumulator - STEP_MS) * nanosPerMs), STEP_MS * nanosPerMs);
+            accumulator -= STEP_MS;
+        }
+
+        // Render between the last two simulation states
+        clock.setAlpha(accumulator / STEP_MS);
+    }
+
+    // One step with every queued tap applied at its start
+    public void step() {
+        step(Long.MAX_VALUE, STEP_MS * 1_000_000f);
+    }
+
+    private void step(long stepEndNanos, float stepNanos) {
+        savePositions();
+        applyInput(stepEndNanos, stepNanos);
+        clock.step();
+        if (!gameOver) {
+            update();
+        }
+    }
+
+    // Applies the taps that happened up to the end of this step
+    private void applyInput(long stepEndNanos, float stepNanos) {
+        while (!input.isEmpty()) {
+            long time = input.peekTime();
+            // A tap from further ahead than the frame can't be on our time base; don't let it wait forever
+            if (time > stepEndNanos && time <= frameTimeNanos + MAX_FRAME_NANOS) {
+                break;
+            }
+            input.remove();
+            float fraction = 1f - (stepEndNanos - time) / stepNanos;
+            tapAt(time, Math.max(0f, Math.min(1f, fraction)));
+        }
+    }
+
+    // A tap that happened the given fraction of the way into the coming step.
+    // The step integrates the whole of it with the new velocity, so take back
+    // the part before the flap, which the bird spent at its old velocity.
+    private void tapAt(long eventNanos, float fraction) {
+        boolean flapping = !gameOver;
+        float velocityBefore = bird.velY;
+        tap();
+        if (flapping) {
+            bird.y += (velocityBefore - bird.velY) * STEP * fraction;
+            latency.applied(eventNanos, System.nanoTime());
+        }
+    }
+
+    // Flap, or restart after game over. Simulation thread only; other threads use input.
+    public void tap() {
+        if (gameOver) {
+            restart();
+        } else {
+            bird.flap(clock);
+            addFlapParticles();
+            if (random.nextInt(5) == 0) {
+                addChatBubble("Flap! 🪶");
+            }
+        }
+    }
+
+    public void restart() {
+        gameOver = false;
+        score = 0;
+        coins_collected = 0;
+        level = 1;
+        currentSpeed = baseSpeed;
+        bird.reset();
+        releaseAll(pipes, pipePool);
+        particles.clear();
+        releaseAll(powerUps, powerUpPool);
+        releaseAll(coins, coinPool);
+        releaseAll(obstacles, obstaclePool);
+        releaseAll(funnyEffects, funnyEffectPool);
+        releaseAll(chatBubbles, chatBubblePool);
+        releaseAll(flyingEmojis, emojiPool);
+        spawnPipe();
+        addFunnyEffect("LET'S GO! 🚀", screenX/2, screenY/2);
+    }
+
+    private void savePositions() {
+        bird.savePosition();
+        for (int i = 0; i < pipes.size(); i++) {
+            pipes.get(i).savePosition();
+        }
+        for (int i = 0; i < coins.size(); i++) {
+            coins.get(i).savePosition();
+        }
+        for (int i = 0; i < obstacles.size(); i++) {
+            obstacles.get(i).savePosition();
+        }
+        for (int i = 0; i < powerUps.size(); i++) {
+            powerUps.get(i).savePosition();
+        }
+        for (int i = 0; i < flyingEmojis.size(); i++) {
+            flyingEmojis.get(i).savePosition();
+        }
+    }
+
+    private void update() {
+        updateDifficulty();
+        bird.update(clock);
+        distance += currentSpeed * STEP;
+
+        // Update pipes
+        for (int i = pipes.size() - 1; i >= 0; i--) {
+            Pipe pipe = pipes.get(i);
+            pipe.update(currentSpeed);
+
+            // Check if bird passed pipe
+            if (!pipe.scored && pipe.x + pipe.width < bird.x) {
+                pipe.scored = true;
+                score++;
+                addScoreParticles();
+                addChatBubble(FUNNY_MESSAGES[random.nextInt(FUNNY_MESSAGES.length)]);
+
+                // Special effects for milestones
+                if (score % 10 == 0) {
+                    discoMode = true;
+                    discoTime = clock.now();
+                    addFireworks();
+                    addFunnyEffect("DISCO TIME! 🕺", screenX/2, screenY/3);
+                } else if (score % 5 == 0) {
+                    rainbowMode = true;
+                    rainbowTime = clock.now();
+                    addFireworks();
+                }
+
+                // Add power-up occasionally
+                if (random.nextInt(8) == 0) {
+                    spawnPowerUp();
+                }
+            }
+
+            // Remove off-screen pipes
+            if (pipe.x + pipe.width < 0) {
+                pipePool.release(pipes.remove(i));
+            }
+        }
+
+        // Add new pipes
+        if (pipes.size() == 0 || pipes.get(pipes.size() - 1).x < screenX - 400) {
+            spawnPipe();
+        }
+
+        // Update and add coins
+        updateCoins();
+
+        // Update obstacles
+        updateObstacles();
+
+        // Update particles
+        particles.update(STEP, STEP_MS, 0.3f, PARTICLE_DRAG, PARTICLE_SHRINK);
+
+        // Update power-ups
+        updatePowerUps();
+
+        // Check collisions against everything that moved this step
+        if (resolveCollisions()) {
+            return;
+        }
+
+        // Update funny effects
+        for (int i = funnyEffects.size() - 1; i >= 0; i--) {
+            FunnyEffect effect = funnyEffects.get(i);
+            effect.update();
+            if (effect.life <= 0) {
+                funnyEffectPool.release(funnyEffects.remove(i));
+            }
+        }
+
+        // Update chat bubbles
+        for (int i = chatBubbles.size() - 1; i >= 0; i--) {
+            ChatBubble bubble = chatBubbles.get(i);
+            bubble.update();
+            if (bubble.life <= 0) {
+                chatBubblePool.release(chatBubbles.remove(i));
+            }
+        }
+
+        // Update flying emojis
+        for (int i = flyingEmojis.size() - 1; i >= 0; i--) {
+            Emoji emoji = flyingEmojis.get(i);
+            emoji.update(clock);
+            if (emoji.x < -50) {
+                emojiPool.release(flyingEmojis.remove(i));
+            }
+        }
+
+        // Add random flying emojis (about once every 300 reference frames)
+        if (random.nextFloat() < STEP / 300f) {
+            Emoji emoji = emojiPool.acquire();
+            emoji.reset(screenX, screenY, random);
+            flyingEmojis.add(emoji);
+        }
+
+        // Check ground collision
+        if (bird.y > screenY - 100 || bird.y < 0) {
+            addFunnyEffect("CRASH! 💥", bird.x, bird.y);
+            shakeScreen();
+            gameOver();
+        }
+
+        // Update rainbow mode
+        if (rainbowMode && clock.now() - rainbowTime > 5000) {
+            rainbowMode = false;
+        }
+
+        // Update disco mode
+        if (discoMode && clock.now() - discoTime > 8000) {
+            discoMode = false;
+        }
+    }
+
+    private void updateDifficulty() {
+        // Increase speed every 10 points
+        int newLevel = (score / 10) + 1;
+        if (newLevel > level) {
+            level = newLevel;
+            currentSpeed = baseSpeed + (level - 1) * speedIncrement;
+            addChatBubble(LEVEL_UP_MESSAGES[random.nextInt(LEVEL_UP_MESSAGES.length)]);
+            addFunnyEffect("SPEED UP! ⚡", screenX/2, screenY/2);
+            levelUpTime = clock.now();
+
+            // Cap the speed to keep it playable
+            if (currentSpeed > 15f) {
+                currentSpeed = 15f;
+            }
+        }
+    }
+
+    private void updateCoins() {
+        // Add coins occasionally
+        if (clock.now() - lastCoinTime > 3000 + random.nextInt(5000)) {
+            lastCoinTime = clock.now();
+            spawnCoin();
+        }
+
+        // Update existing coins
+        for (int i = coins.size() - 1; i >= 0; i--) {
+            Coin coin = coins.get(i);
+            coin.update(currentSpeed, clock);
+
+            if (coin.x < -50) {
+                coinPool.release(coins.remove(i));
+            }
+        }
+    }
+
+    private void updateObstacles() {
+        // Add obstacles occasionally at higher levels
+        if (level >= 3 && random.nextFloat() < STEP / 500f) {
+            spawnObstacle();
+        }
+
+        for (int i = obstacles.size() - 1; i >= 0; i--) {
+            Obstacle obstacle = obstacles.get(i);
+            obstacle.update(currentSpeed, clock);
+
+            if (obstacle.x < -100) {
+                obstaclePool.release(obstacles.remove(i));
+            }
+        }
+    }
+
+    private void updatePowerUps() {
+        for (int i = powerUps.size() - 1; i >= 0; i--) {
+            PowerUp powerUp = powerUps.get(i);
+            powerUp.update(currentSpeed, clock);
+
+            if (powerUp.x < -50) {
+                powerUpPool.release(powerUps.remove(i));
+            }
+        }
+    }
+
+    // Broadphase: sweep the bird and every collidable along x and only
+    // run the exact tests on overlapping pairs. Returns true on game over.
+    private boolean resolveCollisions() {
+        broadphase.clear();
+        broadphase.addBird(0, bird.x, bird.x + bird.width);
+        for (int i = 0; i < pipes.size(); i++) {
+            Pipe pipe = pipes.get(i);
+            broadphase.add(HIT_PIPE, i, pipe.x, pipe.x + pipe.width);
+        }
+        for (int i = 0; i < coins.size(); i++) {
+            Coin coin = coins.get(i);
+            broadphase.add(HIT_COIN, i, coin.x - 40, coin.x + 40);
+        }
+        for (int i = 0; i < obstacles.size(); i++) {
+            Obstacle obstacle = obstacles.get(i);
+            broadphase.add(HIT_OBSTACLE, i, obstacle.x - 35, obstacle.x + 35);
+        }
+        for (int i = 0; i < powerUps.size(); i++) {
+            PowerUp powerUp = powerUps.get(i);
+            float reach = powerUp.size + bird.width / 2f;
+            broadphase.add(HIT_POWER_UP, i, powerUp.x - reach, powerUp.x + reach);
+        }
+
+        boolean collected = false;
+        int pairs = broadphase.findPairs();
+        for (int p = 0; p < pairs; p++) {
+            int index = broadphase.pairIndex[p];
+            switch (broadphase.pairKind[p]) {
+                case HIT_PIPE:
+                    Pipe pipe = pipes.get(index);
+                    if (pipe.collidesWith(bird)) {
+                        if (!bird.hasShield) {
+                            addFunnyEffect("BONK! 💥", pipe.x, pipe.topHeight + pipe.gap/2);
+                            shakeScreen();
+                            gameOver();
+                            return true;
+                        } else {
+                            addFunnyEffect("SHIELD! 🛡️", pipe.x, pipe.topHeight + pipe.gap/2);
+                        }
+                    }
+                    break;
+                case HIT_COIN:
+                    Coin coin = coins.get(index);
+                    if (!coin.collected && coin.collidesWith(bird)) {
+                        coin.collected = true;
+                        collected = true;
+                        coins_collected++;
+                        addCoinParticles(coin.x, coin.y);
+                        addFunnyEffect("BLING! 💰", coin.x, coin.y);
+                    }
+                    break;
+                case HIT_OBSTACLE:
+                    Obstacle obstacle = obstacles.get(index);
+                    if (obstacle.collidesWith(bird) && !bird.hasShield) {
+                        addFunnyEffect("BONK! 🤕", obstacle.x, obstacle.y);
+                        shakeScreen();
+                        gameOver();
+                        return true;
+                    }
+                    break;
+                case HIT_POWER_UP:
+                    PowerUp powerUp = powerUps.get(index);
+                    if (!powerUp.collected && powerUp.collidesWith(bird)) {
+                        powerUp.collected = true;
+                        collected = true;
+                        bird.applyPowerUp(powerUp.type);
+                        addPowerUpParticles(powerUp.x, powerUp.y);
+                        addFunnyEffect("POWER! ⚡", powerUp.x, powerUp.y);
+                    }
+                    break;
+            }
+        }
+
+        // Pairs refer to list positions, so collected items go only after the sweep
+        if (collected) {
+            for (int i = coins.size() - 1; i >= 0; i--) {
+                if (coins.get(i).collected) {
+                    coinPool.release(coins.remove(i));
+                }
+            }
+            for (int i = powerUps.size() - 1; i >= 0; i--) {
+                if (powerUps.get(i).collected) {
+                    powerUpPool.release(powerUps.remove(i));
+                }
+            }
+        }
+        return false;
+    }
+
+    private void shakeScreen() {
+        shakeTime = clock.now();
+        shakeOffset = 10f;
+    }
+
+    private void gameOver() {
+        gameOver = true;
+        if (score > highScore) {
+            highScore = score;
+        }
+        addFunnyEffect("GAME OVER! 😵", screenX/2, screenY/2);
+    }
+
+    // Particle and effect methods
+    private void emitParticle(float x, float y, float angle, int color, float life) {
+        float speed = 5 + random.nextFloat() * 12;
+        float size = 3 + random.nextFloat() * 8;
+        particles.emit(x, y, angle, speed, size, color, life);
+    }
+
+    private int randomHue(float from, float range, HueTable hues) {
+        return hues.color(from + random.nextFloat() * range);
+    }
+
+    private void addScoreParticles() {
+        for (int i = 0; i < 15; i++) {
+            emitParticle(
+                    bird.x + random.nextInt(40) - 20,
+                    bird.y + random.nextInt(40) - 20,
+                    random.nextInt(360),
+                    randomHue(0, 360, HueTable.RAINBOW),
+                    1200
+            );
+        }
+    }
+
+    private void addCoinParticles(float x, float y) {
+        for (int i = 0; i < 12; i++) {
+            emitParticle(
+                    x + random.nextInt(30) - 15,
+                    y + random.nextInt(30) - 15,
+                    random.nextInt(360),
+                    Colors.RED,
+                    1000
+            );
+        }
+    }
+
+    private void addFireworks() {
+        for (int i = 0; i < 60; i++) {
+            emitParticle(
+                    screenX / 2f + random.nextInt(300) - 150,
+                    screenY / 3f + random.nextInt(150) - 75,
+                    random.nextInt(360),
+                    randomHue(0, 360, HueTable.RAINBOW),
+                    2500
+            );
+        }
+    }
+
+    private void addPowerUpParticles(float x, float y) {
+        for (int i = 0; i < 20; i++) {
+            emitParticle(
+                    x + random.nextInt(60) - 30,
+                    y + random.nextInt(60) - 30,
+                    random.nextInt(360),
+                    randomHue(0, 360, HueTable.RAINBOW),
+                    1800
+            );
+        }
+    }
+
+    private void addFlapParticles() {
+        for (int i = 0; i < 8; i++) {
+            emitParticle(
+                    bird.x - 20,
+                    bird.y + 10 + random.nextInt(20) - 10,
+                    180 + random.nextInt(60) - 30,
+                    randomHue(180, 60, HueTable.VIVID),
+                    600
+            );
+        }
+    }
+
+    private void addFunnyEffect(String text, float x, float y) {
+        FunnyEffect effect = funnyEffectPool.acquire();
+        effect.reset(text, x, y);
+        funnyEffects.add(effect);
+    }
+
+    private void addChatBubble(String message) {
+        ChatBubble bubble = chatBubblePool.acquire();
+        bubble.reset(message, bird.x + 80, bird.y - 50);
+        chatBubbles.add(bubble);
+    }
+
+    public void spawnPipe() {
+        Pipe pipe = pipePool.acquire();
+        pipe.reset(screenX, screenY, currentSpeed, random);
+        pipes.add(pipe);
+    }
+
+    public void spawnCoin() {
+        Coin coin = coinPool.acquire();
+        coin.reset(screenX, screenY, random, clock);
+        coins.add(coin);
+    }
+
+    public void spawnObstacle() {
+        Obstacle obstacle = obstaclePool.acquire();
+        obstacle.reset(screenX, screenY, random, clock);
+        obstacles.add(obstacle);
+    }
+
+    public void spawnPowerUp() {
+        PowerUp powerUp = powerUpPool.acquire();
+        powerUp.reset(screenX, screenY, random, clock);
+        powerUps.add(powerUp);
+    }
+
+    private <T> void releaseAll(ArrayList<T> items, Pool<T> pool) {
+        for (int i = items.size() - 1; i >= 0; i--) {
+            pool.release(items.get(i));
+        }
+        items.clear();
+    }
+
+    // One line of usage stats per entity pool
+    public String[] poolStats() {
+        return new String[]{
+                pipePool.toString(),
+                coinPool.toString(),
+                obstaclePool.toString(),
+                powerUpPool.toString(),
+                emojiPool.toString(),
+                funnyEffectPool.toString(),
+                chatBubblePool.toString()
+        };
+    }
+}
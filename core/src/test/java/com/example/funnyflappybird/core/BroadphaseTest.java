@@ -0,0 +1,82 @@
+package com.example.funnyflappybird.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BroadphaseTest {
+
+    @Test
+    public void reportsOnlyOverlappingIntervals() {
+        Broadphase broadphase = new Broadphase();
+        broadphase.clear();
+        broadphase.addBird(0, 100, 160);
+        broadphase.add(1, 0, 0, 50);      // behind the bird
+        broadphase.add(1, 1, 150, 200);   // overlaps
+        broadphase.add(2, 0, 160, 170);   // touches the bird's right edge
+        broadphase.add(2, 1, 400, 500);   // far ahead
+
+        assertEquals(2, broadphase.findPairs());
+        assertPair(broadphase, 0, 1, 1);
+        assertPair(broadphase, 0, 2, 0);
+    }
+
+    @Test
+    public void pairsEveryBirdWithItsNeighbours() {
+        Broadphase broadphase = new Broadphase();
+        broadphase.clear();
+        broadphase.add(0, 0, 90, 130);
+        broadphase.addBird(0, 100, 160);
+        broadphase.addBird(1, 300, 360);
+        broadphase.add(0, 1, 320, 340);
+
+        assertEquals(2, broadphase.findPairs());
+        assertPair(broadphase, 0, 0, 0);
+        assertPair(broadphase, 1, 0, 1);
+    }
+
+    @Test
+    public void handlesUnsortedInputAndGrowth() {
+        Broadphase broadphase = new Broadphase();
+        broadphase.clear();
+        for (int i = 499; i >= 0; i--) {
+            broadphase.add(0, i, i * 10, i * 10 + 5);
+        }
+        broadphase.addBird(0, 1000, 1100);
+
+        // Intervals starting at 1000, 1010, ..., 1100
+        assertEquals(11, broadphase.findPairs());
+    }
+
+    @Test
+    public void mergesInterleavedSortedRuns() {
+        Broadphase broadphase = new Broadphase();
+        broadphase.clear();
+        broadphase.addBird(0, 500, 560);
+        // Four kinds, each ascending, overlapping each other in x
+        for (int kind = 0; kind < 4; kind++) {
+            for (int i = 0; i < 100; i++) {
+                float left = i * 10 + kind * 3;
+                broadphase.add(kind, i, left, left + 5);
+            }
+        }
+
+        // Six or seven intervals of each kind reach into the bird
+        assertEquals(27, broadphase.findPairs());
+        for (int kind = 0; kind < 4; kind++) {
+            assertPair(broadphase, 0, kind, 50);
+            assertPair(broadphase, 0, kind, 55);
+        }
+        assertPair(broadphase, 0, 0, 56);
+    }
+
+    private static void assertPair(Broadphase broadphase, int bird, int kind, int index) {
+        for (int p = 0; p < broadphase.pairCount; p++) {
+            if (broadphase.pairBird[p] == bird && broadphase.pairKind[p] == kind
+                    && broadphase.pairIndex[p] == index) {
+                return;
+            }
+        }
+        fail("missing pair bird=" + bird + " kind=" + kind + " index=" + index);
+    }
+}
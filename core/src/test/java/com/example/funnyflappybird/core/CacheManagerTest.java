@@ -0,0 +1,73 @@
+package com.example.funnyflappybird.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CacheManagerTest {
+
+    // Holds bytes up to its budget
+    private static class FakeCache implements CacheManager.Cache {
+        long bytes, budget;
+
+        @Override
+        public long byteCount() {
+            return bytes;
+        }
+
+        @Override
+        public void setBudget(long bytes) {
+            budget = bytes;
+            this.bytes = Math.min(this.bytes, bytes);
+        }
+    }
+
+    @Test
+    public void budgetsAreSharesOfTheTotal() {
+        CacheManager manager = new CacheManager(1000);
+        FakeCache a = new FakeCache(), b = new FakeCache();
+        manager.register("a", 0.75f, a);
+        manager.register("b", 0.25f, b);
+        assertEquals(750, a.budget);
+        assertEquals(250, b.budget);
+    }
+
+    @Test
+    public void pressureWaitsForApplyPending() {
+        CacheManager manager = new CacheManager(1000);
+        FakeCache cache = new FakeCache();
+        manager.register("cache", 1f, cache);
+        cache.bytes = 800;
+
+        manager.request(0.5f);
+        assertEquals(800, manager.byteCount());
+        assertTrue(manager.applyPending());
+        assertEquals(500, cache.budget);
+        assertEquals(500, manager.byteCount());
+        assertFalse(manager.applyPending());
+
+        manager.request(1f);
+        assertTrue(manager.applyPending());
+        assertEquals(1000, cache.budget);
+        assertEquals(1000, manager.budgetBytes());
+    }
+
+    @Test
+    public void hitRateSpansCaches() throws Exception {
+        CacheManager manager = new CacheManager(1000);
+        assertEquals(1f, manager.hitRate(), 0f);
+        CacheManager.Counters a = manager.register("a", 0.5f, new FakeCache());
+        CacheManager.Counters b = manager.register("b", 0.5f, new FakeCache());
+        a.hits = 3;
+        b.hits = 3;
+        b.misses = 2;
+        assertEquals(0.75f, manager.hitRate(), 1e-6f);
+
+        StringBuilder report = new StringBuilder();
+        manager.writeReport(report);
+        assertTrue(report.toString().contains("b 0 500 3 2 0"));
+
+        manager.resetCounters();
+        assertEquals(1f, manager.hitRate(), 0f);
+    }
+}
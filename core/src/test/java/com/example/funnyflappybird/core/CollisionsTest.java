@@ -0,0 +1,52 @@
+package com.example.funnyflappybird.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CollisionsTest {
+
+    @Test
+    public void boxes_overlapWhenInteriorsIntersect() {
+        assertTrue(Collisions.boxesOverlap(0, 0, 10, 10, 5, 5, 15, 15));
+        assertTrue(Collisions.boxesOverlap(0, 0, 10, 10, 2, 2, 8, 8));
+    }
+
+    @Test
+    public void boxes_touchingEdgesDoNotOverlap() {
+        assertFalse(Collisions.boxesOverlap(0, 0, 10, 10, 10, 0, 20, 10));
+        assertFalse(Collisions.boxesOverlap(0, 0, 10, 10, 0, 10, 10, 20));
+    }
+
+    @Test
+    public void boxes_separatedOnEitherAxisDoNotOverlap() {
+        assertFalse(Collisions.boxesOverlap(0, 0, 10, 10, 20, 0, 30, 10));
+        assertFalse(Collisions.boxesOverlap(0, 0, 10, 10, 0, 20, 10, 30));
+    }
+
+    @Test
+    public void circleBox_overlapWhenNearestPointInsideRadius() {
+        assertTrue(Collisions.circleOverlapsBox(15, 5, 6, 0, 0, 10, 10));
+        assertTrue(Collisions.circleOverlapsBox(5, 5, 1, 0, 0, 10, 10));
+    }
+
+    @Test
+    public void circleBox_cornerUsesEuclideanDistance() {
+        // 4 px away on both axes from the corner is ~5.66 px
+        assertFalse(Collisions.circleOverlapsBox(14, 14, 5, 0, 0, 10, 10));
+        assertTrue(Collisions.circleOverlapsBox(14, 14, 6, 0, 0, 10, 10));
+    }
+
+    @Test
+    public void circles_overlapOnSquaredDistance() {
+        assertTrue(Collisions.circlesOverlap(0, 0, 5, 8, 0, 4));
+        assertFalse(Collisions.circlesOverlap(0, 0, 5, 9, 0, 4));
+        assertFalse(Collisions.circlesOverlap(0, 0, 3, 3, 4, 2));
+    }
+
+    @Test
+    public void withinDistance_isStrict() {
+        assertTrue(Collisions.withinDistance(0, 0, 3, 4, 5.01f));
+        assertFalse(Collisions.withinDistance(0, 0, 3, 4, 5));
+    }
+}
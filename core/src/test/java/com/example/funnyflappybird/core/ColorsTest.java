@@ -0,0 +1,50 @@
+package com.example.funnyflappybird.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ColorsTest {
+
+    @Test
+    public void hsv_primaries() {
+        assertEquals(0xFFFF0000, Colors.hsv(0, 1, 1));
+        assertEquals(0xFF00FF00, Colors.hsv(120, 1, 1));
+        assertEquals(0xFF0000FF, Colors.hsv(240, 1, 1));
+    }
+
+    @Test
+    public void hsv_wrapsHueAndHandlesGrey() {
+        assertEquals(Colors.hsv(30, 1, 1), Colors.hsv(390, 1, 1));
+        assertEquals(Colors.hsv(300, 0.5f, 1), Colors.hsv(-60, 0.5f, 1));
+        assertEquals(0xFF808080, Colors.hsv(200, 0, 128 / 255f));
+    }
+
+    private static int transform(float[] m, int color) {
+        float r = (color >> 16 & 0xFF), g = (color >> 8 & 0xFF), b = (color & 0xFF);
+        int[] out = new int[3];
+        for (int row = 0; row < 3; row++) {
+            float v = m[row * 5] * r + m[row * 5 + 1] * g + m[row * 5 + 2] * b;
+            out[row] = Math.max(0, Math.min(255, Math.round(v)));
+        }
+        return 0xFF000000 | out[0] << 16 | out[1] << 8 | out[2];
+    }
+
+    @Test
+    public void hueRotation_keepsGraysAndIdentity() {
+        float[] none = Colors.hueRotation(0);
+        assertEquals(0xFFFF0000, transform(none, 0xFFFF0000));
+        assertEquals(0xFF123456, transform(none, 0xFF123456));
+        for (int degrees = 0; degrees < 360; degrees += 45) {
+            assertEquals(0xFF808080, transform(Colors.hueRotation(degrees), 0xFF808080));
+        }
+    }
+
+    @Test
+    public void hueRotation_movesRedTowardTheTargetHue() {
+        // Red turned a third of the way round lands mostly green
+        int turned = transform(Colors.hueRotation(120), 0xFFFF0000);
+        int r = turned >> 16 & 0xFF, g = turned >> 8 & 0xFF, b = turned & 0xFF;
+        assertTrue(g > r && g > b);
+    }
+}
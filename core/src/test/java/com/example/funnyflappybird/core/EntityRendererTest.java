@@ -0,0 +1,90 @@
+package com.example.funnyflappybird.core;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class EntityRendererTest {
+
+    private static void drawFrame(EntityRenderer entities, RecordingRenderer recorder, World world) {
+        recorder.clear();
+        entities.drawEntities(recorder, world);
+        entities.drawParticles(recorder, world.particles);
+        entities.drawEffects(recorder, world);
+    }
+
+    @Test
+    public void birdFrameIsBalancedAndCounted() {
+        World world = new World(1080, 1920, new Random(1));
+        world.pipes.clear();
+        RecordingRenderer recorder = new RecordingRenderer();
+        new EntityRenderer().drawEntities(recorder, world);
+
+        // The bird is its body and its face
+        assertEquals(2, recorder.count(RecordingRenderer.SPRITE));
+        assertEquals(2, recorder.drawCount());
+        assertEquals(0, recorder.depth());
+    }
+
+    @Test
+    public void playedFramesNeverLeakASave() {
+        World world = new World(1080, 1920, new Random(7));
+        EntityRenderer entities = new EntityRenderer();
+        RecordingRenderer recorder = new RecordingRenderer();
+        int maxDraws = 0;
+        for (int i = 0; i < 20 * World.SIM_HZ && !world.gameOver; i++) {
+            if (i % World.SIM_HZ == 0) {
+                world.spawnCoin();
+                world.spawnObstacle();
+                world.spawnPowerUp();
+            }
+            world.step();
+            if (world.bird.y > world.screenY / 2f) {
+                world.tap();
+            }
+            drawFrame(entities, recorder, world);
+            assertEquals(0, recorder.depth());
+            maxDraws = Math.max(maxDraws, recorder.drawCount());
+        }
+        assertTrue(maxDraws > 0);
+    }
+
+    @Test
+    public void particlesAreOneDrawCall() {
+        World world = new World(1080, 1920, new Random(1));
+        for (int i = 0; i < 60; i++) {
+            world.particles.emit(i, i, i * 6, 5, 3 + i % 8, Colors.RED, 1000);
+        }
+        RecordingRenderer recorder = new RecordingRenderer();
+        new EntityRenderer().drawParticles(recorder, world.particles);
+
+        assertEquals(1, recorder.drawCount());
+        assertEquals(60, recorder.batchedCircles());
+    }
+
+    @Test
+    public void particleLimitCapsLiveParticles() {
+        World world = new World(1080, 1920, new Random(1));
+        world.particles.setLimit(50);
+        for (int i = 0; i < 60; i++) {
+            world.particles.emit(i, i, i * 6, 5, 3, Colors.RED, 1000);
+        }
+        assertEquals(50, world.particles.count);
+        assertEquals(10, world.particles.evictedCount());
+    }
+
+    @Test
+    public void sparkleCountFollowsTheKnob() {
+        World world = new World(1080, 1920, new Random(1));
+        PowerUp powerUp = new PowerUp();
+        powerUp.type = PowerUp.SLOW_TIME;
+        EntityRenderer entities = new EntityRenderer();
+        entities.sparkles = 3;
+        RecordingRenderer recorder = new RecordingRenderer();
+        entities.drawPowerUp(recorder, powerUp, world.clock);
+
+        assertEquals(3, recorder.batchedCircles());
+    }
+}
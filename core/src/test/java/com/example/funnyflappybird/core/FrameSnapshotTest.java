@@ -0,0 +1,47 @@
+package com.example.funnyflappybird.core;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class FrameSnapshotTest {
+
+    @Test
+    public void captureRecordsTheFrameAndItsNumbers() {
+        World world = new World(1080, 1920, new Random(1));
+        world.score = 12;
+        world.level = 3;
+        FrameSnapshot frame = new FrameSnapshot();
+        frame.capture(world, new EntityRenderer());
+
+        assertEquals(12, frame.score);
+        assertEquals(3, frame.level);
+        assertTrue(frame.entities.drawCount() > 0);
+        assertEquals(0, frame.entities.depth());
+
+        // Recapturing replaces the recording rather than adding to it
+        int draws = frame.entities.drawCount();
+        frame.capture(world, new EntityRenderer());
+        assertEquals(draws, frame.entities.drawCount());
+    }
+
+    @Test
+    public void tapsStayWithAnUndrawnSnapshot() {
+        World world = new World(1080, 1920, new Random(1));
+        FrameSnapshot frame = new FrameSnapshot();
+        world.latency.applied(100, 200);
+        frame.capture(world, new EntityRenderer());
+        // Dropped before it was drawn, then refilled with the next frame
+        world.latency.applied(300, 400);
+        frame.capture(world, new EntityRenderer());
+
+        frame.presented(world.latency, 1000);
+        assertEquals(2, world.latency.traces());
+
+        frame.capture(world, new EntityRenderer());
+        frame.presented(world.latency, 2000);
+        assertEquals(2, world.latency.traces());
+    }
+}
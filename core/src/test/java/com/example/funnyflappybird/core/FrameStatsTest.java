@@ -0,0 +1,60 @@
+package com.example.funnyflappybird.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FrameStatsTest {
+    private static final long MS = 1_000_000L;
+
+    @Test
+    public void marksChargeTimeSincePreviousMark() {
+        FrameStats stats = new FrameStats(16 * MS);
+        stats.beginFrame(0);
+        stats.mark(FrameStats.UPDATE, 2 * MS);
+        stats.mark(FrameStats.ENTITIES, 5 * MS);
+        stats.mark(FrameStats.TEXT, 6 * MS);
+        stats.mark(FrameStats.ENTITIES, 7 * MS);
+        stats.endFrame(7 * MS, 0);
+
+        assertEquals(2 * MS, stats.phase(FrameStats.UPDATE).max());
+        assertEquals(4 * MS, stats.phase(FrameStats.ENTITIES).max());
+        assertEquals(1 * MS, stats.phase(FrameStats.TEXT).max());
+        assertEquals(0, stats.phase(FrameStats.POST).max());
+        assertEquals(7 * MS, stats.frame().max());
+    }
+
+    @Test
+    public void countsJankAndGcFrames() {
+        FrameStats stats = new FrameStats(16 * MS);
+        frame(stats, 10 * MS, 0);
+        frame(stats, 20 * MS, 2);
+        frame(stats, 12 * MS, 1);
+
+        assertEquals(3, stats.frames());
+        assertEquals(1, stats.jankFrames());
+        assertEquals(2, stats.gcFrames());
+        assertEquals(3, stats.gcCount());
+
+        stats.reset();
+        assertEquals(0, stats.frames());
+        assertEquals(0, stats.frame().count());
+    }
+
+    @Test
+    public void reportHasOneRowPerPhase() throws Exception {
+        FrameStats stats = new FrameStats(16 * MS);
+        frame(stats, 10 * MS, 0);
+        StringBuilder report = new StringBuilder();
+        stats.writeReport(report);
+        String[] lines = report.toString().split("\n");
+        assertEquals(2 + FrameStats.PHASE_COUNT + 1, lines.length);
+        assertTrue(lines[0].startsWith("frames 1 jank 0"));
+    }
+
+    private static void frame(FrameStats stats, long length, int gcs) {
+        stats.beginFrame(0);
+        stats.mark(FrameStats.UPDATE, length);
+        stats.endFrame(length, gcs);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.funnyflappybird.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class GameClockTest {
+    private static final long MS = 1_000_000L;
+
+    @Test
+    public void beginFrame_returnsScaledElapsedTime() {
+        GameClock clock = new GameClock(10f);
+        assertEquals(0f, clock.beginFrame(1000 * MS, 250 * MS), 0.001f);
+        assertEquals(16f, clock.beginFrame(1016 * MS, 250 * MS), 0.001f);
+
+        clock.setTimeScale(0.5f);
+        assertEquals(8f, clock.beginFrame(1032 * MS, 250 * MS), 0.001f);
+        assertEquals(16 * MS, clock.frameDeltaNanos());
+        assertEquals(32, clock.realTime());
+    }
+
+    @Test
+    public void beginFrame_clampsLongStalls() {
+        GameClock clock = new GameClock(10f);
+        clock.beginFrame(0, 250 * MS);
+        assertEquals(250f, clock.beginFrame(5000 * MS, 250 * MS), 0.001f);
+    }
+
+    @Test
+    public void resetFrame_skipsTheGap() {
+        GameClock clock = new GameClock(10f);
+        clock.beginFrame(0, 250 * MS);
+        clock.resetFrame();
+        assertEquals(0f, clock.beginFrame(200 * MS, 250 * MS), 0.001f);
+        assertEquals(16f, clock.beginFrame(216 * MS, 250 * MS), 0.001f);
+    }
+
+    @Test
+    public void frameTime_interpolatesBetweenSteps() {
+        GameClock clock = new GameClock(10f);
+        clock.step();
+        clock.step();
+        clock.setAlpha(0.5f);
+        assertEquals(20, clock.now());
+        assertEquals(25, clock.frameTime());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.funnyflappybird.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class HistogramTest {
+
+    @Test
+    public void smallValuesAreExact() {
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+        assertEquals(5, histogram.percentile(50));
+        assertEquals(10, histogram.percentile(100));
+        assertEquals(10, histogram.max());
+        assertEquals(5, histogram.mean());
+    }
+
+    @Test
+    public void percentilesStayWithinBucketPrecision() {
+        Histogram histogram = new Histogram();
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 10_000L); // 10 us .. 10 ms
+        }
+        assertWithin(5_000_000L, histogram.percentile(50));
+        assertWithin(9_500_000L, histogram.percentile(95));
+        assertWithin(9_900_000L, histogram.percentile(99));
+        assertEquals(10_000_000L, histogram.percentile(100));
+    }
+
+    @Test
+    public void hugeValuesClampToTheLastBucket() {
+        Histogram histogram = new Histogram();
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(-5);
+        assertEquals(2, histogram.count());
+        assertEquals(0, histogram.percentile(50));
+        assertEquals(Long.MAX_VALUE, histogram.percentile(100));
+    }
+
+    @Test
+    public void resetEmptiesTheHistogram() {
+        Histogram histogram = new Histogram();
+        histogram.record(42);
+        histogram.reset();
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.percentile(99));
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue("expected ~" + expected + " but was " + actual,
+                actual >= expected && actual <= expected * 1.125);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.funnyflappybird.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class HueTableTest {
+
+    @Test
+    public void matchesHsvAtWholeDegrees() {
+        HueTable table = new HueTable(0.7f, 0.8f);
+        for (int hue = 0; hue < 360; hue++) {
+            assertEquals(Colors.hsv(hue, 0.7f, 0.8f), table.color(hue));
+        }
+    }
+
+    @Test
+    public void wrapsAndTruncatesHue() {
+        assertEquals(HueTable.RAINBOW.color(30), HueTable.RAINBOW.color(390.9f));
+        assertEquals(HueTable.RAINBOW.color(300), HueTable.RAINBOW.color(-60));
+        assertEquals(Colors.RED, HueTable.RAINBOW.color(0.99f));
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.funnyflappybird.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class InputQueueTest {
+
+    @Test
+    public void deliversInOrderAcrossTheWrap() {
+        InputQueue queue = new InputQueue(4);
+        for (long i = 0; i < 10; i++) {
+            assertTrue(queue.offer(i));
+            assertTrue(queue.offer(i + 100));
+            assertEquals(i, queue.peekTime());
+            queue.remove();
+            assertEquals(i + 100, queue.peekTime());
+            queue.remove();
+            assertTrue(queue.isEmpty());
+        }
+    }
+
+    @Test
+    public void dropsWhenFull() {
+        InputQueue queue = new InputQueue(2);
+        assertTrue(queue.offer(1));
+        assertTrue(queue.offer(2));
+        assertFalse(queue.offer(3));
+        assertEquals(1, queue.droppedCount());
+        queue.clear();
+        assertTrue(queue.isEmpty());
+        assertTrue(queue.offer(4));
+        assertEquals(4, queue.peekTime());
+    }
+
+    @Test
+    public void capacityMustBeAPowerOfTwo() {
+        try {
+            new InputQueue(6);
+            fail("accepted a capacity of 6");
+        } catch (IllegalArgumentException expected) {
+            // ok
+        }
+    }
+
+    @Test
+    public void producerAndConsumerThreadsSeeEveryEvent() throws Exception {
+        InputQueue queue = new InputQueue(8);
+        int events = 100_000;
+        Thread producer = new Thread(() -> {
+            for (long i = 1; i <= events; i++) {
+                while (!queue.offer(i)) {
+                    Thread.yield();
+                }
+            }
+        });
+        producer.start();
+
+        long expected = 1;
+        while (expected <= events) {
+            if (queue.isEmpty()) {
+                Thread.yield();
+                continue;
+            }
+            assertEquals(expected++, queue.peekTime());
+            queue.remove();
+        }
+        producer.join();
+        assertTrue(queue.isEmpty());
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.funnyflappybird.core;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class LatencyTracerTest {
+    private static final long MS = 1_000_000L;
+
+    @Test
+    public void tracesCompleteAtTheNextPresent() {
+        LatencyTracer tracer = new LatencyTracer(8);
+        tracer.applied(100 * MS, 104 * MS);
+        tracer.applied(101 * MS, 108 * MS);
+        assertEquals(0, tracer.traces());
+
+        tracer.presented(120 * MS);
+        assertEquals(2, tracer.traces());
+        assertEquals(7 * MS, tracer.touchToApplied().max());
+        assertEquals(16 * MS, tracer.appliedToPresented().max());
+        assertEquals(20 * MS, tracer.touchToPresented().max());
+
+        // Nothing new applied, so the next frame adds no traces
+        tracer.presented(136 * MS);
+        assertEquals(2, tracer.traces());
+    }
+
+    @Test
+    public void traceExportKeepsTheMostRecentSamples() throws Exception {
+        LatencyTracer tracer = new LatencyTracer(2);
+        for (long i = 1; i <= 3; i++) {
+            tracer.applied(i, i + 10);
+            tracer.presented(i + 20);
+        }
+        StringBuilder csv = new StringBuilder();
+        tracer.writeTrace(csv);
+        assertEquals("event_ns,applied_ns,presented_ns\n2,12,22\n3,13,23\n", csv.toString());
+    }
+
+    @Test
+    public void worldTracesQueuedFlaps() {
+        World world = new World(1080, 1920, new Random(1));
+        world.input.offer(5);
+        world.step();
+        world.latency.presented(System.nanoTime());
+        assertEquals(1, world.latency.traces());
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.funnyflappybird.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LoopStateTest {
+
+    @Test
+    public void runsOnlyWithASurfaceWhileResumed() {
+        LoopState loop = new LoopState();
+        assertEquals(LoopState.PAUSED, loop.state());
+
+        assertFalse(loop.setResumed(true));
+        assertEquals(LoopState.IDLE, loop.state());
+        assertFalse(loop.start());
+
+        assertTrue(loop.setSurface(true));
+        assertEquals(LoopState.SURFACE_READY, loop.state());
+        assertTrue(loop.start());
+        assertTrue(loop.isRunning());
+
+        // A second wake-up for the same surface does nothing
+        assertFalse(loop.start());
+    }
+
+    @Test
+    public void surfaceBeforeResumeWaitsForResume() {
+        LoopState loop = new LoopState();
+        assertFalse(loop.setSurface(true));
+        assertEquals(LoopState.PAUSED, loop.state());
+        assertTrue(loop.setResumed(true));
+        assertTrue(loop.start());
+    }
+
+    @Test
+    public void losingTheSurfaceOrPausingStopsTheLoop() {
+        LoopState loop = new LoopState();
+        loop.setResumed(true);
+        loop.setSurface(true);
+        loop.start();
+
+        assertFalse(loop.setSurface(false));
+        assertEquals(LoopState.IDLE, loop.state());
+        assertTrue(loop.setSurface(true));
+        assertTrue(loop.start());
+
+        assertFalse(loop.setResumed(false));
+        assertEquals(LoopState.PAUSED, loop.state());
+        assertFalse(loop.isRunning());
+        assertTrue(loop.setResumed(true));
+        assertEquals(LoopState.SURFACE_READY, loop.state());
+    }
+
+    @Test
+    public void repeatedReportsDontRestartARunningLoop() {
+        LoopState loop = new LoopState();
+        loop.setResumed(true);
+        loop.setSurface(true);
+        loop.start();
+        assertFalse(loop.setSurface(true));
+        assertFalse(loop.setResumed(true));
+        assertTrue(loop.isRunning());
+    }
+}
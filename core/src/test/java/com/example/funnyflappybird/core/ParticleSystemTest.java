@@ -0,0 +1,60 @@
+package com.example.funnyflappybird.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ParticleSystemTest {
+
+    private static boolean hasColor(ParticleSystem p, int color) {
+        for (int i = 0; i < p.count; i++) {
+            if (p.color[i] == color) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void fullSystemOverwritesTheOldestLiveParticle() {
+        ParticleSystem p = new ParticleSystem(4);
+        // Colors tag the particles; the second dies first, shuffling slots
+        p.emit(0, 0, 0, 0, 1, 1, 100);
+        p.emit(0, 0, 0, 0, 1, 2, 10);
+        p.emit(0, 0, 0, 0, 1, 3, 100);
+        p.emit(0, 0, 0, 0, 1, 4, 100);
+        p.update(1, 20, 0, 1, 1);
+        assertEquals(3, p.count);
+
+        p.emit(0, 0, 0, 0, 1, 5, 100);
+        p.emit(0, 0, 0, 0, 1, 6, 100);
+        assertEquals(4, p.count);
+        assertFalse(hasColor(p, 1));
+        assertTrue(hasColor(p, 3));
+        assertTrue(hasColor(p, 4));
+        assertTrue(hasColor(p, 6));
+
+        p.emit(0, 0, 0, 0, 1, 7, 100);
+        assertFalse(hasColor(p, 3));
+        assertEquals(2, p.evictedCount());
+    }
+
+    @Test
+    public void longRunsKeepEvictingInBirthOrder() {
+        ParticleSystem p = new ParticleSystem(8);
+        for (int color = 0; color < 1000; color++) {
+            p.emit(0, 0, 0, 0, 1, color, color % 3 == 0 ? 10 : 1000);
+            if (color % 5 == 0) {
+                p.update(1, 20, 0, 1, 1);
+            }
+        }
+        // Whatever is left, the newest eight replace all of it
+        for (int color = 1000; color < 1008; color++) {
+            p.emit(0, 0, 0, 0, 1, color, 1000);
+        }
+        assertEquals(8, p.count);
+        for (int color = 1000; color < 1008; color++) {
+            assertTrue("missing " + color, hasColor(p, color));
+        }
+    }
+}
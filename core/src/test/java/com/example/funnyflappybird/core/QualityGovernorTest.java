@@ -0,0 +1,84 @@
+package com.example.funnyflappybird.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class QualityGovernorTest {
+    private static final long BUDGET = 16_666_667L;
+    private static final long FAST = BUDGET / 2;
+    private static final long SLOW = BUDGET * 2;
+
+    private static void windows(QualityGovernor governor, int windows, long frameNanos) {
+        for (int i = 0; i < windows * QualityGovernor.WINDOW; i++) {
+            governor.record(frameNanos);
+        }
+    }
+
+    @Test
+    public void slowWindowsStepDownOneTierAtATime() {
+        QualityGovernor governor = new QualityGovernor(BUDGET);
+        windows(governor, 1, SLOW);
+        assertEquals(1, governor.tier());
+        windows(governor, 5, SLOW);
+        assertEquals(QualityGovernor.TIER_COUNT - 1, governor.tier());
+        assertEquals(QualityGovernor.TIER_COUNT - 1, governor.downgrades());
+        assertTrue(governor.particleCap() < 400);
+        assertFalse(governor.textShadows());
+        assertTrue(governor.renderScale() < 1f);
+    }
+
+    @Test
+    public void aFewSlowFramesAreTolerated() {
+        QualityGovernor governor = new QualityGovernor(BUDGET);
+        for (int i = 0; i < 10 * QualityGovernor.WINDOW; i++) {
+            governor.record(i % QualityGovernor.WINDOW == 0 ? SLOW : FAST);
+        }
+        assertEquals(0, governor.tier());
+    }
+
+    @Test
+    public void upgradesNeedCalmWindowsInARow() {
+        QualityGovernor governor = new QualityGovernor(BUDGET);
+        windows(governor, 1, SLOW);
+        windows(governor, QualityGovernor.CALM_WINDOWS - 1, FAST);
+        assertEquals(1, governor.tier());
+
+        // Close to budget but not over it is neither slow nor calm
+        windows(governor, 1, (long) (BUDGET * 0.9));
+        windows(governor, QualityGovernor.CALM_WINDOWS - 1, FAST);
+        assertEquals(1, governor.tier());
+        windows(governor, 1, FAST);
+        assertEquals(0, governor.tier());
+        assertEquals(1, governor.upgrades());
+    }
+
+    @Test
+    public void failedUpgradesBackOff() {
+        QualityGovernor governor = new QualityGovernor(BUDGET);
+        windows(governor, 1, SLOW);
+
+        // Upgrade, then immediately too slow again
+        windows(governor, QualityGovernor.CALM_WINDOWS, FAST);
+        assertEquals(0, governor.tier());
+        windows(governor, 1, SLOW);
+        assertEquals(1, governor.tier());
+
+        // The next upgrade takes twice the calm
+        windows(governor, QualityGovernor.CALM_WINDOWS, FAST);
+        assertEquals(1, governor.tier());
+        windows(governor, QualityGovernor.CALM_WINDOWS, FAST);
+        assertEquals(0, governor.tier());
+        assertEquals(2, governor.downgrades());
+        assertEquals(2, governor.upgrades());
+    }
+
+    @Test
+    public void framesAreCountedPerTier() {
+        QualityGovernor governor = new QualityGovernor(BUDGET);
+        windows(governor, 1, SLOW);
+        windows(governor, 2, FAST);
+        assertEquals(QualityGovernor.WINDOW, governor.tierFrames(0));
+        assertEquals(2 * QualityGovernor.WINDOW, governor.tierFrames(1));
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.funnyflappybird.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RecordingRendererTest {
+
+    @Test
+    public void countsCommandsAndTracksDepth() {
+        RecordingRenderer recorder = new RecordingRenderer();
+        recorder.save();
+        recorder.rotate(45, 10, 10);
+        recorder.rect(0, 0, 10, 10, Colors.RED);
+        recorder.circle(5, 5, 2, Colors.WHITE);
+        recorder.save();
+        recorder.text("hi", 5, 5, 30, Colors.BLACK);
+        recorder.restore();
+
+        assertEquals(7, recorder.size());
+        assertEquals(3, recorder.drawCount());
+        assertEquals(2, recorder.count(RecordingRenderer.SAVE));
+        assertEquals(1, recorder.depth());
+        assertEquals(2, recorder.maxDepth());
+
+        recorder.restore();
+        assertEquals(0, recorder.depth());
+        try {
+            recorder.restore();
+            fail("restored past the first save");
+        } catch (IllegalStateException expected) {
+            // Canvas throws on underflow too
+        }
+    }
+
+    @Test
+    public void replayReproducesTheFrame() {
+        RecordingRenderer recorder = new RecordingRenderer();
+        recorder.save();
+        recorder.scale(2, 2, 1, 1);
+        recorder.oval(1, 2, 3, 4, 0x80FF00FF);
+        recorder.roundRect(0, 0, 100, 40, 20, Colors.WHITE);
+        recorder.strokeRoundRect(0, 0, 100, 40, 20, 3, Colors.BLACK);
+        recorder.image(7, 10, 20, 128);
+        recorder.text("🚀", 50, 20, 40, Colors.CYAN);
+        recorder.circles(new float[]{0, 0, 0, 1, 2, 3, 4, 5, 6}, 3, new int[]{0, Colors.RED, Colors.BLUE}, 1, 2);
+        recorder.rect(0, 0, 1, 1, Colors.WHITE);
+        recorder.restore();
+
+        RecordingRenderer copy = new RecordingRenderer();
+        recorder.replay(copy);
+        RecordingRenderer again = new RecordingRenderer();
+        copy.replay(again);
+
+        assertEquals(recorder.size(), again.size());
+        for (int i = 0; i < recorder.size(); i++) {
+            assertEquals(recorder.op(i), again.op(i));
+        }
+        assertEquals(0, again.depth());
+        assertEquals(2, again.batchedCircles());
+        assertEquals(recorder.drawCount(), again.drawCount());
+    }
+
+    @Test
+    public void clearKeepsNothingFromTheLastFrame() {
+        RecordingRenderer recorder = new RecordingRenderer();
+        for (int i = 0; i < 1000; i++) {
+            recorder.circle(i, i, 1, Colors.RED);
+        }
+        recorder.save();
+        recorder.clear();
+        assertEquals(0, recorder.size());
+        assertEquals(0, recorder.drawCount());
+        assertEquals(0, recorder.depth());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.funnyflappybird.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SpritesTest {
+
+    // Tracks how far drawn shapes reach from the origin; transforms are
+    // ignored, which is exact for everything but the blade's quarter turns
+    private static class Extents implements Renderer {
+        float halfWidth, halfHeight;
+
+        private void cover(float left, float top, float right, float bottom) {
+            halfWidth = Math.max(halfWidth, Math.max(-left, right));
+            halfHeight = Math.max(halfHeight, Math.max(-top, bottom));
+        }
+
+        @Override public void save() {}
+        @Override public void restore() {}
+        @Override public void translate(float dx, float dy) {}
+        @Override public void rotate(float degrees, float px, float py) {}
+        @Override public void scale(float sx, float sy, float px, float py) {}
+
+        @Override
+        public void rect(float left, float top, float right, float bottom, int color) {
+            cover(left, top, right, bottom);
+        }
+
+        @Override
+        public void circle(float cx, float cy, float radius, int color) {
+            cover(cx - radius, cy - radius, cx + radius, cy + radius);
+        }
+
+        @Override
+        public void circles(float[] xyr, int xyrOffset, int[] colors, int colorOffset, int count) {
+            for (int i = 0; i < count; i++) {
+                int o = xyrOffset + i * 3;
+                circle(xyr[o], xyr[o + 1], xyr[o + 2], 0);
+            }
+        }
+
+        @Override
+        public void oval(float left, float top, float right, float bottom, int color) {
+            cover(left, top, right, bottom);
+        }
+
+        @Override
+        public void roundRect(float left, float top, float right, float bottom, float radius, int color) {
+            cover(left, top, right, bottom);
+        }
+
+        @Override
+        public void strokeRoundRect(float left, float top, float right, float bottom, float radius, float strokeWidth, int color) {
+            cover(left, top, right, bottom);
+        }
+
+        @Override public void text(String text, float x, float y, float size, int color) {}
+        @Override public void image(int image, float x, float y, int alpha) {}
+        @Override public void sprite(int sprite, float x, float y, float degrees, float scale, float hue) {}
+    }
+
+    @Test
+    public void everySpriteFitsItsCell() {
+        for (int sprite = 0; sprite < Sprites.COUNT; sprite++) {
+            Extents extents = new Extents();
+            Sprites.draw(extents, sprite, 0);
+            assertTrue("sprite " + sprite + " draws nothing", extents.halfWidth > 0);
+            assertTrue("sprite " + sprite + " is too wide", extents.halfWidth <= Sprites.halfWidth(sprite));
+            assertTrue("sprite " + sprite + " is too tall", extents.halfHeight <= Sprites.halfHeight(sprite));
+        }
+    }
+
+    @Test
+    public void wingOffsetsClampToTheBakedFrames() {
+        assertEquals(Sprites.BIRD, Sprites.bird(-5));
+        assertEquals(Sprites.BIRD + Sprites.WING_FRAMES - 1, Sprites.bird(7));
+        assertEquals(Sprites.BIRD + 5, Sprites.bird(0.2f));
+        assertTrue(Sprites.bird(5) < Sprites.BIRD_FACE);
+        assertTrue(Sprites.birdFace(Sprites.EXPRESSIONS - 1) < Sprites.COIN);
+    }
+
+    @Test
+    public void spritesReplayThroughARecording() {
+        RecordingRenderer recorder = new RecordingRenderer();
+        recorder.sprite(Sprites.COIN, 10, 20, 45, 1.1f, 0);
+        RecordingRenderer copy = new RecordingRenderer();
+        recorder.replay(copy);
+        assertEquals(1, copy.count(RecordingRenderer.SPRITE));
+        assertEquals(RecordingRenderer.SPRITE, copy.op(0));
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.funnyflappybird.core;
+
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+public class TextBufferTest {
+
+    @Test
+    public void appendsIntegers() {
+        TextBuffer text = new TextBuffer(4);
+        text.append("Score: ").append(0).append(' ').append(1234567).append(' ').append(-42);
+        assertEquals("Score: 0 1234567 -42", text.toString());
+        assertEquals(Long.toString(Long.MIN_VALUE), text.clear().append(Long.MIN_VALUE).toString());
+    }
+
+    @Test
+    public void fixedPointMatchesStringFormat() {
+        TextBuffer text = new TextBuffer(16);
+        float[] values = {0f, 5f, 5.04f, 5.06f, 12.34f, 0.95f, 5.05f, 0.25f, 99.99f, -3.5f, -0.04f};
+        for (float value : values) {
+            text.clear().append(value, 1);
+            assertEquals(String.format(Locale.ROOT, "%.1f", value).replace("-0.0", "0.0"), text.toString());
+        }
+        assertEquals("3.142", text.clear().append(3.14159f, 3).toString());
+        assertEquals("8", text.clear().append(7.5f, 0).toString());
+    }
+
+    @Test
+    public void clearKeepsTheBuffer() {
+        TextBuffer text = new TextBuffer(8);
+        text.append("Level: ").append(12);
+        char[] chars = text.chars();
+        text.clear().append("Level: ").append(3);
+        assertSame(chars, text.chars());
+        assertEquals(8, text.length());
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.funnyflappybird.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TrigTest {
+
+    @Test
+    public void matchesMathAcrossPeriods() {
+        for (double x = -50; x < 50; x += 0.0137) {
+            assertEquals(Math.sin(x), Trig.sin(x), 1e-6);
+            assertEquals(Math.cos(x), Trig.cos(x), 1e-6);
+        }
+    }
+
+    @Test
+    public void degreesAndLargeArguments() {
+        assertEquals(1.0, Trig.sinDegrees(90), 1e-6);
+        assertEquals(-1.0, Trig.cosDegrees(180), 1e-6);
+        assertEquals(Math.sin(Math.toRadians(-405)), Trig.sinDegrees(-405), 1e-6);
+
+        // Animation phases grow with uptime; a day in ms times 0.01
+        double phase = 86_400_000 * 0.01 + 0.3;
+        assertEquals(Math.sin(phase), Trig.sin(phase), 1e-5);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.funnyflappybird.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TripleBufferTest {
+
+    private static class Slot {
+        long value;
+    }
+
+    @Test
+    public void consumerSeesTheNewestPublishedFrame() {
+        TripleBuffer<Slot> buffer = new TripleBuffer<>(Slot::new);
+        assertNull(buffer.acquire());
+
+        buffer.back().value = 1;
+        assertFalse(buffer.publish());
+        buffer.back().value = 2;
+        assertTrue(buffer.publish()); // 1 was never acquired
+
+        assertEquals(2, buffer.acquire().value);
+        assertNull(buffer.acquire());
+    }
+
+    @Test
+    public void slotsAreNeverShared() {
+        TripleBuffer<Slot> buffer = new TripleBuffer<>(Slot::new);
+        buffer.back().value = 1;
+        buffer.publish();
+        Slot front = buffer.acquire();
+        for (int i = 0; i < 10; i++) {
+            assertNotSame(front, buffer.back());
+            buffer.back().value = i;
+            buffer.publish();
+        }
+        assertEquals(1, front.value);
+    }
+
+    @Test
+    public void framesArriveInOrderAcrossThreads() throws InterruptedException {
+        TripleBuffer<Slot> buffer = new TripleBuffer<>(Slot::new);
+        final long frames = 200_000;
+        Thread producer = new Thread(() -> {
+            for (long i = 1; i <= frames; i++) {
+                buffer.back().value = i;
+                buffer.publish();
+            }
+        });
+        producer.start();
+
+        long last = 0;
+        while (last < frames) {
+            Slot slot = buffer.acquire();
+            if (slot != null) {
+                assertTrue(slot.value > last);
+                last = slot.value;
+            }
+        }
+        producer.join();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.funnyflappybird.core;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class WorldTest {
+    private static final long FRAME_NANOS = 16_666_667L;
+
+    @Test
+    public void birdFallsToTheGroundWithoutInput() {
+        World world = new World(1080, 1920, new Random(1));
+        for (int i = 0; i < 10 * World.SIM_HZ && !world.gameOver; i++) {
+            world.step();
+        }
+        assertTrue(world.gameOver);
+        assertEquals(0, world.score);
+    }
+
+    @Test
+    public void tapAfterGameOverRestarts() {
+        World world = new World(1080, 1920, new Random(1));
+        while (!world.gameOver) {
+            world.step();
+        }
+        world.tap();
+        assertFalse(world.gameOver);
+        assertEquals(1, world.pipes.size());
+        assertEquals(1920 / 2f, world.bird.y, 0.001f);
+    }
+
+    @Test
+    public void resizeKeepsTheRunInPlay() {
+        World world = new World(1080, 1920, new Random(1));
+        world.bird.y = 1700;
+        Pipe pipe = world.pipes.get(0);
+        world.setSize(1920, 1080);
+
+        assertEquals(1920, world.screenX);
+        assertEquals(1080, world.bird.screenY);
+        assertSame(pipe, world.pipes.get(0));
+        assertEquals(1080, pipe.screenY);
+        assertEquals(1080 / 2f, world.bird.y, 0.001f);
+
+        world.step();
+        assertFalse(world.gameOver);
+        world.gameOver = true;
+        world.tap();
+        assertEquals(1080 / 2f, world.bird.y, 0.001f);
+    }
+
+    @Test
+    public void sameSeedGivesTheSameRun() {
+        World a = play(new World(1080, 1920, new Random(42)));
+        World b = play(new World(1080, 1920, new Random(42)));
+        assertEquals(a.bird.y, b.bird.y, 0f);
+        assertEquals(a.distance, b.distance, 0.0);
+        assertEquals(a.pipes.size(), b.pipes.size());
+        assertEquals(a.particles.count, b.particles.count);
+    }
+
+    @Test
+    public void frameRunsWholeStepsAndKeepsTheRemainder() {
+        World world = new World(1080, 1920, new Random(1));
+        world.frame(0);
+        world.frame(FRAME_NANOS * 3);
+        // 50 ms at 120 Hz is six steps with a sliver left over
+        assertEquals(6 * World.STEP_MS, world.clock.now(), 1f);
+        assertTrue(world.clock.alpha() >= 0f && world.clock.alpha() < 1f);
+    }
+
+    @Test
+    public void queuedTapIsAppliedInTheStepItHappenedIn() {
+        World world = new World(1080, 1920, new Random(1));
+        long ms = 1_000_000L;
+        world.frame(1000 * ms);
+        float startY = world.bird.y;
+
+        // Steps end every 8.33 ms; 40 ms is 80% of the way into the fifth
+        world.input.offer(1040 * ms);
+        world.input.offer(1060 * ms);
+        world.frame(1050 * ms);
+
+        Bird bird = world.bird;
+        float g = bird.gravity * World.STEP;
+        float expectedVelocity = bird.jumpStrength + 2 * g;
+        assertEquals(expectedVelocity, bird.velY, 0.001f);
+
+        // Four steps of falling, 0.8 of a step before the flap, then the flap and one more step
+        float beforeFlap = (g + 2 * g + 3 * g + 4 * g) * World.STEP + 5 * g * World.STEP * 0.8f;
+        float afterFlap = (bird.jumpStrength + g) * World.STEP * 0.2f + expectedVelocity * World.STEP;
+        assertEquals(startY + beforeFlap + afterFlap, bird.y, 0.01f);
+
+        // The later tap waits for the frame that covers it
+        assertFalse(world.input.isEmpty());
+        assertEquals(1060 * ms, world.input.peekTime());
+    }
+
+    // Flap whenever the bird drops below the middle of the screen
+    private static World play(World world) {
+        for (int i = 0; i < 30 * World.SIM_HZ; i++) {
+            if (world.bird.y > world.screenY / 2f && !world.gameOver) {
+                world.tap();
+            }
+            world.step();
+        }
+        return world;
+    }
+}
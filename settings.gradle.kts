@@ -21,3 +21,5 @@ dependencyResolutionManagement {
 
 rootProject.name = "funnyflappybird"
 include(":app")
+include(":core")
+include(":benchmark")